@@ -26,10 +26,13 @@ import org.assertj.core.api.Assertions;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
@@ -122,6 +125,65 @@ public class ArchiveAssert extends AbstractAssert<ArchiveAssert, File> {
     return myself;
   }
 
+  /**
+   * Compares the archive with the given golden archive without extracting any of them.
+   * The comparison is based on the entry names, the uncompressed sizes and the CRC-32
+   * which are read from the central directories of both archives. The timestamps of the
+   * entries and the entries within {@code META-INF/maven} are ignored.
+   *
+   * @param goldenArchive The archive which is taken as the expected content.
+   * @return {@link ArchiveAssert}
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public ArchiveAssert isEquivalentTo(Path goldenArchive) {
+    isNotNull();
+    try {
+      ArchiveIndex.Difference difference = ArchiveIndex.of(this.actual, ArchiveIndex.IS_MAVEN_FILE)
+          .compareTo(ArchiveIndex.of(goldenArchive.toFile(), ArchiveIndex.IS_MAVEN_FILE));
+      if (!difference.isEmpty()) {
+        failWithMessage("Expecting archive <%s> to be equivalent to <%s> but was not.%n"
+                + "added: <%s>%nremoved: <%s>%nchanged: <%s>", this.actual, goldenArchive,
+            difference.getAdded(), difference.getRemoved(), difference.getChanged());
+      }
+    } catch (IOException e) {
+      failWithMessage(IOEXCEPTION_HAPPENED, e.getMessage(), this.actual);
+    }
+    return myself;
+  }
+
+  /**
+   * Evaluates all given checks within a single pass over the archive instead
+   * of reading the archive once for each assertion.
+   * <pre><code class='java'>
+   *   assertThat(result).project().hasTarget()
+   *     .withJarFile()
+   *     .satisfiesAll(checks -&gt; checks
+   *         .containsOnlyOnce("META-INF/MANIFEST.MF")
+   *         .doesNotContain("test.properties")
+   *         .hasEntrySatisfying("version.properties", content -&gt; assertThat(content).contains("1.0")));
+   * </code></pre>
+   * All failing checks are reported together.
+   *
+   * @param checks The checks which should be satisfied by the archive.
+   * @return {@link ArchiveAssert}
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public ArchiveAssert satisfiesAll(Consumer<ArchiveChecks> checks) {
+    isNotNull();
+    ArchiveChecks archiveChecks = new ArchiveChecks();
+    checks.accept(archiveChecks);
+    try {
+      List<Throwable> errors = archiveChecks.evaluate(this.actual);
+      if (!errors.isEmpty()) {
+        failWithMessage("Expecting archive <%s> to satisfy all checks but %d failed:%n%s", this.actual,
+            errors.size(), errors.stream().map(Throwable::getMessage).collect(Collectors.joining(System.lineSeparator())));
+      }
+    } catch (IOException e) {
+      failWithMessage(IOEXCEPTION_HAPPENED, e.getMessage(), this.actual);
+    }
+    return myself;
+  }
+
   public MavenProjectResultAssert and() {
     return this.parent;
   }
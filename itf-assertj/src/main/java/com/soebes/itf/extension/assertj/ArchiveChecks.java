@@ -0,0 +1,150 @@
+package com.soebes.itf.extension.assertj;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+import org.assertj.core.api.SoftAssertions;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Collects checks on the entries of an archive which are evaluated together
+ * by {@link ArchiveAssert#satisfiesAll(Consumer)}.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote All checks are evaluated within a single sequential pass over the
+ * archive. The content of an entry is only kept if there is a content check
+ * for that entry.
+ */
+@API(status = EXPERIMENTAL, since = "0.10.0")
+public final class ArchiveChecks {
+
+  private static final String CHECKING_ARCHIVE_FILE_NAMES = "Checking archive file names.";
+
+  private final List<Consumer<SoftAssertionsForNames>> nameChecks;
+
+  private final Map<String, List<Consumer<String>>> contentChecks;
+
+  ArchiveChecks() {
+    this.nameChecks = new ArrayList<>();
+    this.contentChecks = new LinkedHashMap<>();
+  }
+
+  public ArchiveChecks contains(String... files) {
+    this.nameChecks.add(s -> s.softly.assertThat(s.names).describedAs(CHECKING_ARCHIVE_FILE_NAMES).contains(files));
+    return this;
+  }
+
+  public ArchiveChecks containsOnly(String... files) {
+    this.nameChecks.add(s -> s.softly.assertThat(s.names).describedAs(CHECKING_ARCHIVE_FILE_NAMES).containsOnly(files));
+    return this;
+  }
+
+  public ArchiveChecks containsOnlyOnce(String... files) {
+    this.nameChecks.add(
+        s -> s.softly.assertThat(s.names).describedAs(CHECKING_ARCHIVE_FILE_NAMES).containsOnlyOnce(files));
+    return this;
+  }
+
+  public ArchiveChecks doesNotContain(String... files) {
+    this.nameChecks.add(
+        s -> s.softly.assertThat(s.names).describedAs(CHECKING_ARCHIVE_FILE_NAMES).doesNotContain(files));
+    return this;
+  }
+
+  /**
+   * @param file The name of the entry within the archive.
+   * @param requirements The requirements for the content of the entry which is
+   *                     decoded as {@code UTF-8}.
+   * @return {@link ArchiveChecks}
+   */
+  public ArchiveChecks hasEntrySatisfying(String file, Consumer<String> requirements) {
+    this.contentChecks.computeIfAbsent(file, k -> new ArrayList<>()).add(requirements);
+    return this;
+  }
+
+  /**
+   * @param archive The archive which is checked.
+   * @return The errors of all failing checks.
+   * @throws IOException in case of failure to read the archive.
+   */
+  List<Throwable> evaluate(File archive) throws IOException {
+    List<String> names = new ArrayList<>();
+    Map<String, String> contents = new LinkedHashMap<>();
+    try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(archive.toPath()));
+         ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+      ZipEntry zipEntry;
+      while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+        names.add(zipEntry.getName());
+        if (this.contentChecks.containsKey(zipEntry.getName())) {
+          contents.put(zipEntry.getName(), read(zipInputStream));
+        }
+      }
+    }
+
+    SoftAssertions softly = new SoftAssertions();
+    SoftAssertionsForNames forNames = new SoftAssertionsForNames(softly, names);
+    this.nameChecks.forEach(check -> check.accept(forNames));
+    this.contentChecks.forEach((name, requirements) -> {
+      if (!contents.containsKey(name)) {
+        softly.fail("Expecting archive <%s> to contain <%s> but it does not.", archive, name);
+        return;
+      }
+      requirements.forEach(requirement ->
+          softly.assertThat(contents.get(name)).describedAs("Checking content of <%s>.", name).satisfies(requirement));
+    });
+    return softly.errorsCollected();
+  }
+
+  private static String read(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      result.write(buffer, 0, read);
+    }
+    return new String(result.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static final class SoftAssertionsForNames {
+    private final SoftAssertions softly;
+    private final List<String> names;
+
+    private SoftAssertionsForNames(SoftAssertions softly, List<String> names) {
+      this.softly = softly;
+      this.names = names;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.soebes.itf.extension.assertj;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An index of the entries of an archive based on the information
+ * of the central directory (name, uncompressed size and CRC-32).
+ * The timestamps of the entries are intentionally not part of the index.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The content of an entry is only read in cases where the
+ * central directory does not contain a CRC-32 for that entry. In such
+ * cases a SHA-256 of the content is used instead.
+ */
+final class ArchiveIndex {
+
+  /**
+   * The entries which are generated by Maven itself and which will differ
+   * between different builds of the same content.
+   */
+  static final Predicate<String> IS_MAVEN_FILE = name -> name.startsWith("META-INF/maven/");
+
+  private final Map<String, Fingerprint> entries;
+
+  private ArchiveIndex(Map<String, Fingerprint> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * @param archive The archive which will be indexed.
+   * @param ignore The entries which should not be part of the index.
+   * @return The {@link ArchiveIndex}
+   * @throws IOException in case of failure to read the archive.
+   */
+  static ArchiveIndex of(File archive, Predicate<String> ignore) throws IOException {
+    Map<String, Fingerprint> entries = new TreeMap<>();
+    try (ZipFile zipFile = new ZipFile(archive)) {
+      Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+      while (zipEntries.hasMoreElements()) {
+        ZipEntry zipEntry = zipEntries.nextElement();
+        if (ignore.test(zipEntry.getName())) {
+          continue;
+        }
+        entries.put(zipEntry.getName(), fingerprint(zipFile, zipEntry));
+      }
+    }
+    return new ArchiveIndex(entries);
+  }
+
+  private static Fingerprint fingerprint(ZipFile zipFile, ZipEntry zipEntry) throws IOException {
+    if (zipEntry.getCrc() != -1) {
+      return new Fingerprint(zipEntry.getSize(), zipEntry.getCrc(), null);
+    }
+    try (InputStream inputStream = zipFile.getInputStream(zipEntry)) {
+      return new Fingerprint(zipEntry.getSize(), -1, sha256(inputStream));
+    }
+  }
+
+  private static String sha256(InputStream inputStream) throws IOException {
+    MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not supported.", e);
+    }
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      messageDigest.update(buffer, 0, read);
+    }
+    StringBuilder result = new StringBuilder();
+    for (byte b : messageDigest.digest()) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+
+  /**
+   * @param expected The index of the expected archive.
+   * @return The differences between {@code this} and the {@code expected}.
+   */
+  Difference compareTo(ArchiveIndex expected) {
+    List<String> added = new ArrayList<>();
+    List<String> removed = new ArrayList<>();
+    List<String> changed = new ArrayList<>();
+    this.entries.forEach((name, fingerprint) -> {
+      Fingerprint expectedFingerprint = expected.entries.get(name);
+      if (expectedFingerprint == null) {
+        added.add(name);
+      } else if (!fingerprint.equals(expectedFingerprint)) {
+        changed.add(name);
+      }
+    });
+    expected.entries.keySet().stream().filter(name -> !this.entries.containsKey(name)).forEach(removed::add);
+    return new Difference(added, removed, changed);
+  }
+
+  private static final class Fingerprint {
+    private final long size;
+    private final long crc;
+    private final String sha256;
+
+    private Fingerprint(long size, long crc, String sha256) {
+      this.size = size;
+      this.crc = crc;
+      this.sha256 = sha256;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Fingerprint that = (Fingerprint) o;
+      return size == that.size && crc == that.crc && Objects.equals(sha256, that.sha256);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, crc, sha256);
+    }
+  }
+
+  /**
+   * The result of comparing two {@link ArchiveIndex} instances.
+   */
+  static final class Difference {
+    private final List<String> added;
+    private final List<String> removed;
+    private final List<String> changed;
+
+    private Difference(List<String> added, List<String> removed, List<String> changed) {
+      this.added = added;
+      this.removed = removed;
+      this.changed = changed;
+    }
+
+    boolean isEmpty() {
+      return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    List<String> getAdded() {
+      return added;
+    }
+
+    List<String> getRemoved() {
+      return removed;
+    }
+
+    List<String> getChanged() {
+      return changed;
+    }
+  }
+}
@@ -20,7 +20,6 @@ package com.soebes.itf.extension.assertj;
  */
 
 import com.soebes.itf.jupiter.maven.MavenProjectResult;
-import com.soebes.itf.jupiter.maven.ProjectHelper;
 import org.apache.maven.model.Model;
 import org.assertj.core.api.AbstractAssert;
 import org.assertj.core.api.AbstractFileAssert;
@@ -199,9 +198,9 @@ public class MavenProjectResultAssert extends AbstractAssert<MavenProjectResultA
       failWithMessage(EXPECT_HAVING_A_MODULE, moduleName);
     }
 
-    Model model = ProjectHelper.readProject(new File(moduleNameFile, "pom.xml"));
-    MavenProjectResult mavenProjectResult = new MavenProjectResult(moduleNameFile, model);
-    return new MavenProjectResultAssert(mavenProjectResult);
+    MavenProjectResult mavenProjectResult = this.actual.getModules().findByModule(moduleName)
+        .orElseGet(() -> new MavenProjectResult(moduleNameFile));
+    return new MavenProjectResultAssert(mavenProjectResult, this);
   }
 
 
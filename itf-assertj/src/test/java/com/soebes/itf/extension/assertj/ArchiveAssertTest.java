@@ -19,13 +19,125 @@ package com.soebes.itf.extension.assertj;
  * under the License.
  */
 
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
 /**
  * @author Karl Heinz Marbaise
  */
 class ArchiveAssertTest {
 
-//  @Test
-//  void name() {
-//    ArchiveAssert as = new ArchiveAssert()
-//  }
-}
\ No newline at end of file
+  private Model model;
+
+  @BeforeEach
+  void beforeEach() {
+    this.model = new Model();
+    this.model.setGroupId("com.soebes.itf");
+    this.model.setArtifactId("archive");
+  }
+
+  private static Path createArchive(Path archive, long time, String... nameAndContent) throws IOException {
+    try (OutputStream outputStream = Files.newOutputStream(archive);
+         ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      for (int i = 0; i < nameAndContent.length; i += 2) {
+        ZipEntry zipEntry = new ZipEntry(nameAndContent[i]);
+        zipEntry.setTime(time);
+        zipOutputStream.putNextEntry(zipEntry);
+        zipOutputStream.write(nameAndContent[i + 1].getBytes(StandardCharsets.UTF_8));
+        zipOutputStream.closeEntry();
+      }
+    }
+    return archive;
+  }
+
+  @Nested
+  class IsEquivalentTo {
+
+    @Test
+    void should_ignore_timestamps_and_maven_files(@TempDir Path tempDir) throws IOException {
+      Path golden = createArchive(tempDir.resolve("golden.jar"), 0L,
+          "META-INF/MANIFEST.MF", "Manifest-Version: 1.0",
+          "META-INF/maven/com.soebes.itf/archive/pom.properties", "version=1.0",
+          "A.class", "first");
+      Path actual = createArchive(tempDir.resolve("actual.jar"), 1_000_000_000L,
+          "META-INF/MANIFEST.MF", "Manifest-Version: 1.0",
+          "META-INF/maven/com.soebes.itf/archive/pom.properties", "version=2.0",
+          "A.class", "first");
+
+      ArchiveAssert archiveAssert = new ArchiveAssert(actual.toFile(), model, null);
+
+      assertThatCode(() -> archiveAssert.isEquivalentTo(golden)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void should_report_added_removed_and_changed_entries(@TempDir Path tempDir) throws IOException {
+      Path golden = createArchive(tempDir.resolve("golden.jar"), 0L,
+          "A.class", "first",
+          "B.class", "second");
+      Path actual = createArchive(tempDir.resolve("actual.jar"), 0L,
+          "A.class", "changed",
+          "C.class", "third");
+
+      ArchiveAssert archiveAssert = new ArchiveAssert(actual.toFile(), model, null);
+
+      assertThatExceptionOfType(AssertionError.class)
+          .isThrownBy(() -> archiveAssert.isEquivalentTo(golden))
+          .withMessageContaining("added: <[C.class]>")
+          .withMessageContaining("removed: <[B.class]>")
+          .withMessageContaining("changed: <[A.class]>");
+    }
+  }
+
+  @Nested
+  class SatisfiesAll {
+
+    @Test
+    void should_pass_if_all_checks_are_satisfied(@TempDir Path tempDir) throws IOException {
+      Path actual = createArchive(tempDir.resolve("actual.jar"), 0L,
+          "META-INF/MANIFEST.MF", "Manifest-Version: 1.0",
+          "version.properties", "version=1.0",
+          "A.class", "first");
+
+      ArchiveAssert archiveAssert = new ArchiveAssert(actual.toFile(), model, null);
+
+      assertThatCode(() -> archiveAssert.satisfiesAll(checks -> checks
+          .containsOnlyOnce("META-INF/MANIFEST.MF", "A.class")
+          .doesNotContain("B.class")
+          .hasEntrySatisfying("version.properties", content -> assertThat(content).isEqualTo("version=1.0"))))
+          .doesNotThrowAnyException();
+    }
+
+    @Test
+    void should_report_all_failing_checks(@TempDir Path tempDir) throws IOException {
+      Path actual = createArchive(tempDir.resolve("actual.jar"), 0L,
+          "version.properties", "version=1.0",
+          "A.class", "first");
+
+      ArchiveAssert archiveAssert = new ArchiveAssert(actual.toFile(), model, null);
+
+      assertThatExceptionOfType(AssertionError.class)
+          .isThrownBy(() -> archiveAssert.satisfiesAll(checks -> checks
+              .doesNotContain("A.class")
+              .hasEntrySatisfying("version.properties", content -> assertThat(content).isEqualTo("version=2.0"))
+              .hasEntrySatisfying("missing.properties", content -> assertThat(content).isEmpty())))
+          .withMessageContaining("but 3 failed")
+          .withMessageContaining("version=2.0")
+          .withMessageContaining("missing.properties");
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.soebes.itf.maven.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * This will write the effective models of all projects of the reactor into a single
+ * archive which can be read after the build has ended by the integration tests.
+ * The capture is only done if the property {@value #EFFECTIVE_MODELS} is given.
+ *
+ * <p>Each model is written in the same format as a {@code pom.xml} file. The name of an
+ * entry is the path of the {@code pom.xml} file relative to the execution root directory
+ * for example {@code pom.xml} or {@code module-a/pom.xml}.</p>
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The models are written after the projects have been read, so they are
+ * available even if the build fails later on.
+ */
+@Named("itf-effective-model-capture")
+@Singleton
+public class EffectiveModelCapture extends AbstractMavenLifecycleParticipant {
+
+  /**
+   * The name of the property which defines the file the effective models are written to.
+   */
+  public static final String EFFECTIVE_MODELS = "itf.effective.models";
+
+  @Override
+  public void afterProjectsRead(MavenSession session) throws MavenExecutionException {
+    String effectiveModels = session.getUserProperties().getProperty(EFFECTIVE_MODELS);
+    if (effectiveModels == null) {
+      return;
+    }
+
+    Path executionRoot = Paths.get(session.getExecutionRootDirectory()).toAbsolutePath().normalize();
+    Path output = Paths.get(effectiveModels);
+    MavenXpp3Writer writer = new MavenXpp3Writer();
+    try (OutputStream outputStream = Files.newOutputStream(output);
+         ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      for (MavenProject project : session.getProjects()) {
+        zipOutputStream.putNextEntry(new ZipEntry(entryName(executionRoot, project.getFile())));
+        ByteArrayOutputStream model = new ByteArrayOutputStream();
+        writer.write(model, project.getModel());
+        model.writeTo(zipOutputStream);
+        zipOutputStream.closeEntry();
+      }
+    } catch (IOException e) {
+      throw new MavenExecutionException("Failed to write effective models to " + output, e);
+    }
+  }
+
+  private static String entryName(Path executionRoot, File pomFile) {
+    return executionRoot.relativize(pomFile.toPath().toAbsolutePath().normalize()).toString()
+        .replace(File.separatorChar, '/');
+  }
+}
@@ -0,0 +1,52 @@
+package com.soebes.itf.examples;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.soebes.itf.jupiter.extension.MavenEffectiveModels;
+import com.soebes.itf.jupiter.extension.MavenGoal;
+import com.soebes.itf.jupiter.extension.MavenJupiterExtension;
+import com.soebes.itf.jupiter.extension.MavenTest;
+import com.soebes.itf.jupiter.maven.MavenExecutionResult;
+import com.soebes.itf.jupiter.maven.MavenProjectResult;
+import org.apache.maven.model.Model;
+
+import static com.soebes.itf.extension.assertj.MavenITAssertions.assertThat;
+
+@MavenJupiterExtension
+class EffectiveModelIT {
+
+  @MavenTest
+  @MavenGoal("validate")
+  @MavenEffectiveModels
+  void reactor(MavenExecutionResult result) {
+    assertThat(result).isSuccessful();
+
+    MavenProjectResult project = result.getMavenProjectResult();
+    assertThat(project.getEffectiveModel().getDescription()).isEqualTo("The description of the reactor.");
+
+    Model moduleA = project.getModules().findByModule("module-a")
+        .orElseThrow(() -> new IllegalStateException("module-a not found."))
+        .getEffectiveModel();
+    assertThat(moduleA.getGroupId()).isEqualTo("com.soebes.itf.examples");
+    assertThat(moduleA.getVersion()).isEqualTo("1.0");
+    assertThat(moduleA.getDescription()).isEqualTo("The description of the reactor.");
+  }
+
+}
@@ -0,0 +1,84 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Gives access to the effective models which have been written by the forked
+ * Maven build into a single archive. Each entry of the archive is named by the path
+ * of the {@code pom.xml} relative to the root of the build (for example {@code pom.xml}
+ * or {@code module-a/pom.xml}). An entry is only read on first access.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class EffectiveModels {
+
+  private final Path archive;
+
+  private final Map<String, Model> models;
+
+  EffectiveModels(Path archive) {
+    this.archive = archive;
+    this.models = new HashMap<>();
+  }
+
+  /**
+   * @param relativeProjectDirectory The project directory relative to the root of the build.
+   * @return The effective {@link Model}
+   * @throws IllegalStateException in case the effective model is not available.
+   */
+  synchronized Model get(Path relativeProjectDirectory) {
+    String entryName = relativeProjectDirectory.resolve("pom.xml").toString().replace('\\', '/');
+    Model model = this.models.get(entryName);
+    if (model == null) {
+      model = read(entryName);
+      this.models.put(entryName, model);
+    }
+    return model;
+  }
+
+  private Model read(String entryName) {
+    if (!Files.isRegularFile(this.archive)) {
+      throw new IllegalStateException("The effective models have not been captured (see @MavenEffectiveModels). File <"
+          + this.archive + "> does not exist.");
+    }
+    try (ZipFile zipFile = new ZipFile(this.archive.toFile())) {
+      ZipEntry zipEntry = zipFile.getEntry(entryName);
+      if (zipEntry == null) {
+        throw new IllegalStateException("No effective model for <" + entryName + "> within <" + this.archive + ">.");
+      }
+      try (InputStream inputStream = zipFile.getInputStream(zipEntry)) {
+        return ProjectHelper.readProject(inputStream);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read effective models from " + this.archive, e);
+    }
+  }
+}
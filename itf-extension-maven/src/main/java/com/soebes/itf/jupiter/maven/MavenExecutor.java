@@ -19,23 +19,195 @@ package com.soebes.itf.jupiter.maven;
  * under the License.
  */
 
+import com.soebes.itf.jupiter.maven.MavenExecutionResult.ExecutionResult;
 import org.apiguardian.api.API;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
+/**
+ * Executes further Maven builds on the project and the local cache of a test case which have
+ * already been prepared by the extension. An executor is immutable: {@link #goals(String...)}
+ * and {@link #options(String...)} return a new executor, so several variants can be derived
+ * from the same executor and executed concurrently via {@link #executeAsync()}.
+ *
+ * <pre>
+ * &#64;MavenTest
+ * void variants(MavenExecutionResult result, MavenExecutor executor) {
+ *   MavenExecutionResult verify = executor.goals("verify").execute();
+ *   ...
+ * }
+ * </pre>
+ *
+ * Each execution writes its own log files ({@code <name>-<number>-mvn-stdout.log} etc.).
+ * Executions which run concurrently must not write into the same output directory of the project.
+ *
+ * @author Karl Heinz Marbaise
+ */
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public class MavenExecutor {
 
-  private String executorName;
+  private static final String DEFAULT_GOAL = "package";
+
+  private final String executorName;
+
+  private final Path mavenExecutable;
+
+  private final File projectDirectory;
+
+  private final File loggingDirectory;
+
+  private final File cacheDirectory;
+
+  private final List<String> arguments;
+
+  private final List<String> goals;
+
+  private final List<String> options;
+
+  private final AtomicInteger executions;
 
   public MavenExecutor(String executorName) {
+    this(executorName, null, null, null, null, Collections.emptyList(), Collections.emptyList(),
+        Collections.emptyList(), new AtomicInteger());
+  }
+
+  /**
+   * @param executorName The name of the executor which is used as prefix of the log files.
+   * @param mavenExecutable The Maven executable.
+   * @param projectDirectory The project on which Maven is executed.
+   * @param loggingDirectory The directory into which the log files are written.
+   * @param cacheDirectory The local cache (repository) used by the executions.
+   * @param options The command line options used if no {@link #options(String...)} are given.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public MavenExecutor(String executorName, Path mavenExecutable, File projectDirectory, File loggingDirectory,
+                       File cacheDirectory, List<String> options) {
+    this(executorName, mavenExecutable, projectDirectory, loggingDirectory, cacheDirectory,
+        Collections.emptyList(), options);
+  }
+
+  /**
+   * @param executorName The name of the executor which is used as prefix of the log files.
+   * @param mavenExecutable The Maven executable.
+   * @param projectDirectory The project on which Maven is executed.
+   * @param loggingDirectory The directory into which the log files are written.
+   * @param cacheDirectory The local cache (repository) used by the executions.
+   * @param arguments The arguments which are given to each execution (for example the generated settings or the
+   * profiles and system properties of the test case)
+   * and which are not replaced by {@link #options(String...)}.
+   * @param options The command line options used if no {@link #options(String...)} are given.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public MavenExecutor(String executorName, Path mavenExecutable, File projectDirectory, File loggingDirectory,
+                       File cacheDirectory, List<String> arguments, List<String> options) {
+    this(executorName, mavenExecutable, projectDirectory, loggingDirectory, cacheDirectory,
+        Collections.unmodifiableList(new ArrayList<>(arguments)), Collections.emptyList(), options,
+        new AtomicInteger());
+  }
+
+  private MavenExecutor(String executorName, Path mavenExecutable, File projectDirectory, File loggingDirectory,
+                        File cacheDirectory, List<String> arguments, List<String> goals, List<String> options,
+                        AtomicInteger executions) {
     this.executorName = executorName;
+    this.mavenExecutable = mavenExecutable;
+    this.projectDirectory = projectDirectory;
+    this.loggingDirectory = loggingDirectory;
+    this.cacheDirectory = cacheDirectory;
+    this.arguments = arguments;
+    this.goals = goals;
+    this.options = options;
+    this.executions = executions;
+  }
+
+  /**
+   * @param goals The goals (or phases) which are executed instead of {@code package}.
+   * @return A new {@link MavenExecutor} with the given goals.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public MavenExecutor goals(String... goals) {
+    return new MavenExecutor(executorName, mavenExecutable, projectDirectory, loggingDirectory, cacheDirectory,
+        arguments, Collections.unmodifiableList(Arrays.asList(goals)), options, executions);
   }
 
+  /**
+   * @param options The command line options which replace the options of the test case. The arguments
+   * which are needed by the extension itself (local cache, generated settings etc.) are kept.
+   * @return A new {@link MavenExecutor} with the given options.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public MavenExecutor options(String... options) {
+    return new MavenExecutor(executorName, mavenExecutable, projectDirectory, loggingDirectory, cacheDirectory,
+        arguments, goals, Collections.unmodifiableList(Arrays.asList(options)), executions);
+  }
+
+  /**
+   * Executes Maven and waits until the execution has finished.
+   *
+   * @return The {@link MavenExecutionResult} of the execution.
+   * @throws IllegalStateException in case the executor is not able to execute Maven or the execution failed to start.
+   */
   public MavenExecutionResult execute() {
-    return null;
+    if (mavenExecutable == null) {
+      throw new IllegalStateException("The executor " + executorName + " is not able to execute Maven.");
+    }
+    String prefix = executorName + "-" + executions.incrementAndGet() + "-mvn";
+    Path stdout = loggingDirectory.toPath().resolve(prefix + "-stdout.log");
+    Path stderr = loggingDirectory.toPath().resolve(prefix + "-stderr.log");
+
+    List<String> commandLine = new ArrayList<>();
+    commandLine.add(mavenExecutable.toString());
+    commandLine.add("-Dmaven.repo.local=" + cacheDirectory);
+    commandLine.addAll(arguments);
+    commandLine.addAll(options);
+    commandLine.addAll(goals.isEmpty() ? Collections.singletonList(DEFAULT_GOAL) : goals);
+
+    int returnCode;
+    try {
+      Files.write(loggingDirectory.toPath().resolve(prefix + "-arguments.log"), commandLine);
+      Process process = new ProcessBuilder(commandLine)
+          .redirectOutput(stdout.toFile())
+          .redirectError(stderr.toFile())
+          .directory(projectDirectory)
+          .start();
+      returnCode = process.waitFor();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to execute Maven in " + projectDirectory, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while executing Maven in " + projectDirectory, e);
+    }
+
+    ExecutionResult executionResult = returnCode == 0 ? ExecutionResult.Successful : ExecutionResult.Failure;
+    return new MavenExecutionResult(executionResult, returnCode, new MavenLog(stdout, stderr),
+        new MavenProjectResult(projectDirectory), new MavenCacheResult(cacheDirectory.toPath()));
+  }
+
+  /**
+   * Executes Maven in a separate thread.
+   *
+   * @return The {@link CompletableFuture} which is completed with the {@link MavenExecutionResult}.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public CompletableFuture<MavenExecutionResult> executeAsync() {
+    Executor thread = runnable -> {
+      Thread execution = new Thread(runnable, executorName + "-mvn");
+      execution.setDaemon(true);
+      execution.start();
+    };
+    return CompletableFuture.supplyAsync(this::execute, thread);
   }
 
   @Override
@@ -23,28 +23,118 @@ import org.apache.maven.model.Model;
 import org.apiguardian.api.API;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Optional;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 /**
+ * The result of a project within the reactor. The {@link Model} of the project
+ * and the modules of the project are only read on first access.
+ *
  * @author Karl Heinz Marbaise
  */
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public class MavenProjectResult {
 
+  private static final String POM_XML = "pom.xml";
+
   private final File baseDir;
-  private final Model model;
+
+  private final File pomFile;
+
+  private final MavenProjectResult parent;
+
+  private final EffectiveModels effectiveModels;
+
+  private Model model;
+
+  private Projects modules;
 
   public MavenProjectResult(File baseDir, Model model) {
-    this.baseDir = baseDir;
+    this(baseDir, new File(baseDir, POM_XML), null, null);
     this.model = model;
   }
 
+  /**
+   * @param baseDir The base directory of the project which contains the {@code pom.xml} file.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public MavenProjectResult(File baseDir) {
+    this(baseDir, new File(baseDir, POM_XML), null, null);
+  }
+
+  /**
+   * @param baseDir The base directory of the project which contains the {@code pom.xml} file.
+   * @param effectiveModels The archive which contains the effective models of the reactor.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public MavenProjectResult(File baseDir, Path effectiveModels) {
+    this(baseDir, new File(baseDir, POM_XML), null, new EffectiveModels(effectiveModels));
+  }
+
+  MavenProjectResult(File baseDir, File pomFile, MavenProjectResult parent) {
+    this(baseDir, pomFile, parent, null);
+  }
+
+  private MavenProjectResult(File baseDir, File pomFile, MavenProjectResult parent, EffectiveModels effectiveModels) {
+    this.baseDir = baseDir;
+    this.pomFile = pomFile;
+    this.parent = parent;
+    this.effectiveModels = effectiveModels;
+  }
+
   public File getBaseDir() {
     return baseDir;
   }
 
-  public Model getModel() {
+  /**
+   * @return The {@link Model} of the project which is read on first access.
+   */
+  public synchronized Model getModel() {
+    if (this.model == null) {
+      this.model = ProjectHelper.readProject(this.pomFile);
+    }
     return model;
   }
+
+  /**
+   * The effective model is the model after inheritance, interpolation and
+   * profile activation as used by the build (the same as {@code help:effective-pom} would show).
+   * It has been captured from within the build so no further build is needed.
+   *
+   * @return The effective {@link Model} of the project.
+   * @throws IllegalStateException in case the effective model has not been captured.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public Model getEffectiveModel() {
+    MavenProjectResult root = this;
+    while (root.parent != null) {
+      root = root.parent;
+    }
+    if (root.effectiveModels == null) {
+      throw new IllegalStateException("The effective models have not been captured for " + root.getBaseDir());
+    }
+    Path rootDirectory = root.getBaseDir().toPath().toAbsolutePath().normalize();
+    return root.effectiveModels.get(rootDirectory.relativize(this.baseDir.toPath().toAbsolutePath().normalize()));
+  }
+
+  /**
+   * @return The project which contains this project as module or {@link Optional#empty()} for the root project.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public Optional<MavenProjectResult> getParent() {
+    return Optional.ofNullable(this.parent);
+  }
+
+  /**
+   * @return The modules of this project. The models of the modules are read on first access.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public synchronized Projects getModules() {
+    if (this.modules == null) {
+      this.modules = new Projects(this);
+    }
+    return this.modules;
+  }
 }
@@ -0,0 +1,143 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The mock repository of a test case and the requests which it has served.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@API(status = EXPERIMENTAL, since = "0.10.0")
+public class MockRepositoryResult {
+
+  private final URI url;
+
+  private final File baseDir;
+
+  private final ConcurrentLinkedQueue<Request> requests;
+
+  public MockRepositoryResult(URI url, File baseDir) {
+    this.url = url;
+    this.baseDir = baseDir;
+    this.requests = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * @return The URL of the repository.
+   */
+  public URI getUrl() {
+    return url;
+  }
+
+  /**
+   * @return The directory which contains the content of the repository incl. deployed artifacts.
+   */
+  public File getBaseDir() {
+    return baseDir;
+  }
+
+  /**
+   * @return The requests in the order in which the responses have been started.
+   */
+  public List<Request> getRequests() {
+    return new ArrayList<>(requests);
+  }
+
+  public long getRequestCount() {
+    return requests.size();
+  }
+
+  /**
+   * @param method The HTTP method, for example {@code GET} or {@code PUT}.
+   * @return The number of requests with the given method.
+   */
+  public long getRequestCount(String method) {
+    return requests.stream().filter(r -> r.getMethod().equals(method)).count();
+  }
+
+  /**
+   * @return The longest time until the response to a request has been started or {@link Duration#ZERO}
+   * if there have been no requests.
+   */
+  public Duration getMaximumLatency() {
+    return requests.stream().map(Request::getLatency).max(Duration::compareTo).orElse(Duration.ZERO);
+  }
+
+  void add(Request request) {
+    requests.add(request);
+  }
+
+  /**
+   * A request which has been served by the mock repository.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  public static final class Request {
+
+    private final String method;
+
+    private final String path;
+
+    private final int status;
+
+    private final Duration latency;
+
+    Request(String method, String path, int status, Duration latency) {
+      this.method = method;
+      this.path = path;
+      this.status = status;
+      this.latency = latency;
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    /**
+     * @return The path relative to the repository, for example {@code org/test/a/1.0/a-1.0.jar}.
+     */
+    public String getPath() {
+      return path;
+    }
+
+    public int getStatus() {
+      return status;
+    }
+
+    public Duration getLatency() {
+      return latency;
+    }
+
+    @Override
+    public String toString() {
+      return method + " " + path + " " + status + " (" + latency.toMillis() + " ms)";
+    }
+  }
+}
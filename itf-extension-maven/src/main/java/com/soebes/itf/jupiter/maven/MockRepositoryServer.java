@@ -0,0 +1,168 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A HTTP repository server which serves a directory with the layout of a Maven repository. It is
+ * bound to the loopback interface on a free port chosen by the operating system, so any number of
+ * servers can run in parallel. {@code GET} and {@code HEAD} read files, {@code PUT} writes them (deploy).
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote Based on the HTTP server of the JDK ({@code com.sun.net.httpserver}) which is available
+ * since JDK 6 and does not need any further dependency.
+ */
+@API(status = INTERNAL, since = "0.10.0")
+public final class MockRepositoryServer implements AutoCloseable {
+
+  private final HttpServer server;
+
+  private final ExecutorService executor;
+
+  private final Path baseDir;
+
+  private final MockRepositoryResult result;
+
+  private MockRepositoryServer(HttpServer server, ExecutorService executor, Path baseDir) {
+    this.server = server;
+    this.executor = executor;
+    this.baseDir = baseDir.toAbsolutePath().normalize();
+    this.result = new MockRepositoryResult(URI.create("http://" + server.getAddress().getAddress().getHostAddress()
+        + ":" + server.getAddress().getPort() + "/"), this.baseDir.toFile());
+  }
+
+  /**
+   * @param baseDir The directory which contains the content of the repository. It is created if it does not exist.
+   * @return The started server.
+   * @throws IOException in case of failure to create the directory or to bind the server.
+   */
+  public static MockRepositoryServer start(Path baseDir) throws IOException {
+    Files.createDirectories(baseDir);
+    HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "itf-mock-repository");
+      thread.setDaemon(true);
+      return thread;
+    });
+    MockRepositoryServer mockRepositoryServer = new MockRepositoryServer(server, executor, baseDir);
+    server.createContext("/", mockRepositoryServer::handle);
+    server.setExecutor(executor);
+    server.start();
+    return mockRepositoryServer;
+  }
+
+  public MockRepositoryResult getResult() {
+    return result;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) {
+    long start = System.nanoTime();
+    try {
+      respond(exchange, start);
+    } catch (IOException e) {
+      if (exchange.getResponseCode() == -1) {
+        sendQuietly(exchange, start, HttpURLConnection.HTTP_INTERNAL_ERROR);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void respond(HttpExchange exchange, long start) throws IOException {
+    String method = exchange.getRequestMethod();
+    Path file = baseDir.resolve(path(exchange)).normalize();
+    if (!file.startsWith(baseDir)) {
+      send(exchange, start, HttpURLConnection.HTTP_FORBIDDEN, -1);
+      return;
+    }
+    switch (method) {
+      case "GET":
+      case "HEAD":
+        if (!Files.isRegularFile(file)) {
+          send(exchange, start, HttpURLConnection.HTTP_NOT_FOUND, -1);
+        } else if (method.equals("HEAD")) {
+          exchange.getResponseHeaders().set("Content-Length", Long.toString(Files.size(file)));
+          send(exchange, start, HttpURLConnection.HTTP_OK, -1);
+        } else {
+          send(exchange, start, HttpURLConnection.HTTP_OK, Files.size(file));
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            Files.copy(file, outputStream);
+          }
+        }
+        break;
+      case "PUT":
+        Files.createDirectories(file.getParent());
+        try (InputStream inputStream = exchange.getRequestBody()) {
+          Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        send(exchange, start, HttpURLConnection.HTTP_CREATED, -1);
+        break;
+      default:
+        send(exchange, start, HttpURLConnection.HTTP_BAD_METHOD, -1);
+    }
+  }
+
+  /**
+   * Records the request before the response is sent, so the request is visible as soon as the client
+   * has received the response. The latency is therefore the time until the response starts.
+   */
+  private void send(HttpExchange exchange, long start, int status, long length) throws IOException {
+    result.add(new MockRepositoryResult.Request(exchange.getRequestMethod(), path(exchange), status,
+        Duration.ofNanos(System.nanoTime() - start)));
+    exchange.sendResponseHeaders(status, length);
+  }
+
+  private void sendQuietly(HttpExchange exchange, long start, int status) {
+    try {
+      send(exchange, start, status, -1);
+    } catch (IOException e) {
+      // The client is gone.
+    }
+  }
+
+  private static String path(HttpExchange exchange) {
+    return exchange.getRequestURI().getPath().replaceFirst("^/+", "");
+  }
+}
@@ -0,0 +1,121 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A bounded cache for {@link Model} instances which have been read from a {@code pom.xml} file.
+ * An entry is identified by the absolute path, the size and the last modification time of
+ * the file, so a changed file will be read again. If the cache is full the least recently
+ * used entry will be evicted.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The given reader is called outside of the lock. This means two threads which are
+ * reading the same file at the same time might both parse it, but they will never block
+ * each other while parsing.
+ */
+final class ModelCache {
+
+  private final Map<Key, Model> models;
+
+  ModelCache(int maximumSize) {
+    this.models = new LinkedHashMap<Key, Model>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Model> eldest) {
+        return size() > maximumSize;
+      }
+    };
+  }
+
+  /**
+   * @param pomFile The {@code pom.xml} file.
+   * @param reader The function which reads the file if it is not already cached.
+   * @return The cached {@link Model}. The caller is responsible not to change the instance.
+   */
+  Model get(Path pomFile, Function<Path, Model> reader) {
+    Key key = Key.of(pomFile);
+    synchronized (this.models) {
+      Model model = this.models.get(key);
+      if (model != null) {
+        return model;
+      }
+    }
+    Model model = reader.apply(pomFile);
+    synchronized (this.models) {
+      this.models.put(key, model);
+    }
+    return model;
+  }
+
+  int size() {
+    synchronized (this.models) {
+      return this.models.size();
+    }
+  }
+
+  private static final class Key {
+    private final Path path;
+    private final long size;
+    private final long lastModified;
+
+    private Key(Path path, long size, long lastModified) {
+      this.path = path;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    static Key of(Path pomFile) {
+      Path absolutePath = pomFile.toAbsolutePath().normalize();
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+        return new Key(absolutePath, attributes.size(), attributes.lastModifiedTime().toMillis());
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to read pom.xml", e);
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return size == key.size && lastModified == key.lastModified && path.equals(key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, size, lastModified);
+    }
+  }
+}
@@ -25,18 +25,28 @@ import org.apiguardian.api.API;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 /**
  * @author Karl Heinz Marbaise
+ * @implNote All methods are thread safe. The models which are read via {@link #readProject(File)}
+ * are cached based on the path, size and last modification time of the file.
  */
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public final class ProjectHelper {
 
+  /**
+   * The maximum number of models which are kept in the cache.
+   */
+  private static final int MAXIMUM_CACHED_MODELS = 256;
+
+  private static final ModelCache MODEL_CACHE = new ModelCache(MAXIMUM_CACHED_MODELS);
+
   private ProjectHelper() {
     // intentionally private.
   }
@@ -55,11 +65,18 @@ public final class ProjectHelper {
   }
 
   /**
+   * The {@code pom.xml} file is only parsed if it has not been read before or
+   * it has been changed since then.
+   *
    * @param pomFile The directory where to read the {@code pom.xml} from.
-   * @return The {@link Model}
+   * @return The {@link Model} which is a copy of the cached one so it can be changed by the caller.
    */
   public static Model readProject(File pomFile) {
-    try (InputStream is = new FileInputStream(pomFile)) {
+    return MODEL_CACHE.get(pomFile.toPath(), ProjectHelper::readModel).clone();
+  }
+
+  private static Model readModel(Path pomFile) {
+    try (InputStream is = Files.newInputStream(pomFile)) {
       return readProject(is);
     } catch (IOException e) {
       throw new IllegalStateException("Failed to read pom.xml", e);
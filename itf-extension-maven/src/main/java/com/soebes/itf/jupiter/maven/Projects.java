@@ -21,25 +21,108 @@ package com.soebes.itf.jupiter.maven;
 
 import org.apiguardian.api.API;
 
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 /**
+ * The modules of a project within the reactor. Each module is only identified
+ * by its directory. The {@code pom.xml} of a module is not read before it is
+ * really needed.
+ *
  * @author Karl Heinz Marbaise
  */
 @API(status = EXPERIMENTAL, since = "0.1.0")
 public class Projects {
 
-  //FIXME: Need to use a real tree structure
-  // to support real project reactors with different levels etc.
-  private List<MavenProjectResult> projects;
+  /**
+   * The modules indexed by the name of the module as given in the {@code pom.xml} file.
+   */
+  private final Map<String, MavenProjectResult> modules;
+
+  /**
+   * The modules indexed by their artifactId which is filled on demand.
+   */
+  private final Map<String, MavenProjectResult> artifactIds;
+
+  /**
+   * The modules which have not been added to {@link #artifactIds} yet.
+   */
+  private final Deque<MavenProjectResult> notIndexed;
+
+  private final MavenProjectResult parent;
 
   public Projects(List<MavenProjectResult> projects) {
-    this.projects = projects;
+    this.parent = null;
+    this.modules = new LinkedHashMap<>();
+    projects.forEach(project -> this.modules.put(project.getBaseDir().getName(), project));
+    this.artifactIds = new HashMap<>();
+    this.notIndexed = new ArrayDeque<>(this.modules.values());
+  }
+
+  Projects(MavenProjectResult parent) {
+    this.parent = parent;
+    this.modules = new LinkedHashMap<>();
+    parent.getModel().getModules().forEach(module -> this.modules.put(module, createModule(module)));
+    this.artifactIds = new HashMap<>();
+    this.notIndexed = new ArrayDeque<>(this.modules.values());
+  }
+
+  private MavenProjectResult createModule(String module) {
+    File moduleLocation = new File(this.parent.getBaseDir(), module);
+    if (moduleLocation.isFile()) {
+      return new MavenProjectResult(moduleLocation.getParentFile(), moduleLocation, this.parent);
+    }
+    return new MavenProjectResult(moduleLocation, new File(moduleLocation, "pom.xml"), this.parent);
+  }
+
+  public synchronized List<MavenProjectResult> getProjects() {
+    return new ArrayList<>(this.modules.values());
+  }
+
+  /**
+   * A module which is not defined in the {@code pom.xml} (for example it is only defined
+   * in a profile) but exists as a directory which contains a {@code pom.xml} file will
+   * be found as well. Such a module is found by {@link #findByArtifactId(String)} afterwards.
+   *
+   * @param module The name of the module as given in the {@code <module>..</module>} element.
+   * @return The module or {@link Optional#empty()} if no such module exists.
+   */
+  public synchronized Optional<MavenProjectResult> findByModule(String module) {
+    MavenProjectResult result = this.modules.get(module);
+    if (result == null && this.parent != null && new File(new File(this.parent.getBaseDir(), module), "pom.xml").isFile()) {
+      result = createModule(module);
+      this.modules.put(module, result);
+      this.notIndexed.addFirst(result);
+    }
+    return Optional.ofNullable(result);
   }
 
-  public List<MavenProjectResult> getProjects() {
-    return projects;
+  /**
+   * The models of the modules are only read until the module with the given
+   * {@code artifactId} has been found. Every model which is read is indexed so
+   * later calls will not read it again.
+   *
+   * @param artifactId The artifactId of the module.
+   * @return The module or {@link Optional#empty()} if no module with the given {@code artifactId} exists.
+   */
+  public synchronized Optional<MavenProjectResult> findByArtifactId(String artifactId) {
+    MavenProjectResult result = this.artifactIds.get(artifactId);
+    while (result == null && !this.notIndexed.isEmpty()) {
+      MavenProjectResult next = this.notIndexed.poll();
+      this.artifactIds.put(next.getModel().getArtifactId(), next);
+      if (artifactId.equals(next.getModel().getArtifactId())) {
+        result = next;
+      }
+    }
+    return Optional.ofNullable(result);
   }
 }
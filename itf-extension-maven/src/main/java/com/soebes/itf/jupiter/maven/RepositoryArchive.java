@@ -0,0 +1,143 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A zip archive which contains artifacts in the layout of a Maven repository (for example
+ * {@code org/example/a/1.0/a-1.0.jar}). The archive is extracted as a whole into a repository
+ * which is much cheaper than copying thousands of single files.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The entries are decompressed in parallel. Files which already exist with the same
+ * size and last modification time as the entry are not extracted again.
+ */
+@API(status = INTERNAL, since = "0.10.0")
+public final class RepositoryArchive {
+
+  /**
+   * The file extension of a repository archive.
+   */
+  public static final String EXTENSION = ".zip";
+
+  private RepositoryArchive() {
+    // intentionally empty.
+  }
+
+  /**
+   * @param archive The archive which should be extracted.
+   * @param repository The repository into which the archive is extracted.
+   * @param threads The number of threads used to decompress the entries.
+   * @return The files which have been extracted.
+   * @throws IOException in case of failure to read the archive or to write the files.
+   */
+  public static List<Path> extract(Path archive, Path repository, int threads) throws IOException {
+    Path root = repository.toAbsolutePath().normalize();
+    try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+      List<ZipEntry> files = new ArrayList<>();
+      for (ZipEntry entry : Collections.list(zipFile.entries())) {
+        Path target = targetOf(root, entry);
+        if (entry.isDirectory()) {
+          Files.createDirectories(target);
+        } else {
+          files.add(entry);
+        }
+      }
+
+      if (threads <= 1) {
+        List<Path> extracted = new ArrayList<>();
+        for (ZipEntry entry : files) {
+          extract(zipFile, entry, targetOf(root, entry)).ifPresent(extracted::add);
+        }
+        return extracted;
+      }
+      return extractInParallel(zipFile, files, root, threads);
+    }
+  }
+
+  private static List<Path> extractInParallel(ZipFile zipFile, List<ZipEntry> files, Path root, int threads)
+      throws IOException {
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Optional<Path>>> extractions = new ArrayList<>();
+      for (ZipEntry entry : files) {
+        extractions.add(executorService.submit(() -> extract(zipFile, entry, targetOf(root, entry))));
+      }
+      List<Path> extracted = new ArrayList<>();
+      for (Future<Optional<Path>> extraction : extractions) {
+        extraction.get().ifPresent(extracted::add);
+      }
+      return extracted;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IllegalStateException("Failed to extract " + zipFile.getName(), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while extracting " + zipFile.getName(), e);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private static Optional<Path> extract(ZipFile zipFile, ZipEntry entry, Path target) throws IOException {
+    if (Files.isRegularFile(target) && Files.size(target) == entry.getSize()
+        && Files.getLastModifiedTime(target).toMillis() == entry.getTime()) {
+      return Optional.empty();
+    }
+    Files.createDirectories(target.getParent());
+    try (InputStream inputStream = zipFile.getInputStream(entry)) {
+      Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    if (entry.getTime() != -1) {
+      Files.setLastModifiedTime(target, FileTime.fromMillis(entry.getTime()));
+    }
+    return Optional.of(target);
+  }
+
+  private static Path targetOf(Path root, ZipEntry entry) throws IOException {
+    Path target = root.resolve(entry.getName()).normalize();
+    if (!target.startsWith(root)) {
+      throw new IOException("The entry <" + entry.getName() + "> is outside of the repository " + root);
+    }
+    return target;
+  }
+}
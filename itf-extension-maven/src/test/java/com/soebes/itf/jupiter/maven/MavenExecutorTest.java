@@ -0,0 +1,111 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class MavenExecutorTest {
+
+  /**
+   * Creates a fake {@code mvn} which prints its arguments and fails if the goal {@code fail} is given.
+   */
+  private static Path mvn(Path directory) throws IOException {
+    Path mvn = Files.write(directory.resolve("mvn"),
+        Arrays.asList("#!/bin/sh", "echo \"$@\"", "case \"$*\" in *fail*) exit 1;; esac", "exit 0"));
+    assertThat(mvn.toFile().setExecutable(true)).isTrue();
+    return mvn;
+  }
+
+  private static MavenExecutor executor(Path tempDir) throws IOException {
+    File project = Files.createDirectories(tempDir.resolve("project")).toFile();
+    File cache = Files.createDirectories(tempDir.resolve(".m2/repository")).toFile();
+    return new MavenExecutor("test", mvn(tempDir), project, tempDir.toFile(), cache, Collections.singletonList("-B"));
+  }
+
+  @Test
+  void should_fail_if_the_executor_is_not_able_to_execute_maven() {
+    assertThatIllegalStateException().isThrownBy(() -> new MavenExecutor("test").execute())
+        .withMessageContaining("test");
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void should_execute_the_given_goals_with_the_options_of_the_test_case(@TempDir Path tempDir) throws IOException {
+    MavenExecutor executor = executor(tempDir);
+
+    MavenExecutionResult result = executor.goals("clean", "verify").execute();
+
+    assertThat(result.isSuccesful()).isTrue();
+    assertThat(result.getMavenLog().getStdout()).isEqualTo(tempDir.resolve("test-1-mvn-stdout.log"));
+    assertThat(new String(Files.readAllBytes(result.getMavenLog().getStdout())))
+        .contains("-Dmaven.repo.local=" + tempDir.resolve(".m2/repository"))
+        .contains("-B clean verify");
+    assertThat(result.getMavenProjectResult().getBaseDir()).isEqualTo(tempDir.resolve("project").toFile());
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void should_execute_variants_concurrently(@TempDir Path tempDir) throws IOException {
+    MavenExecutor executor = executor(tempDir);
+
+    CompletableFuture<MavenExecutionResult> failure = executor.goals("fail").executeAsync();
+    CompletableFuture<MavenExecutionResult> success = executor.options("-q").executeAsync();
+
+    assertThat(failure.join().isFailure()).isTrue();
+    assertThat(failure.join().getReturnCode()).isEqualTo(1);
+    assertThat(success.join().isSuccesful()).isTrue();
+    assertThat(failure.join().getMavenLog().getStdout()).isNotEqualTo(success.join().getMavenLog().getStdout());
+    assertThat(new String(Files.readAllBytes(success.join().getMavenLog().getStdout()))).contains("-q package");
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void should_keep_the_arguments_of_the_extension_if_the_options_are_replaced(@TempDir Path tempDir)
+      throws IOException {
+    File project = Files.createDirectories(tempDir.resolve("project")).toFile();
+    File cache = Files.createDirectories(tempDir.resolve(".m2/repository")).toFile();
+    MavenExecutor executor = new MavenExecutor("test", mvn(tempDir), project, tempDir.toFile(), cache,
+        Arrays.asList("--global-settings", "mvn-settings.xml", "-Ditf.mock.repository.url=http://127.0.0.1:1/"),
+        Collections.singletonList("-B"));
+
+    MavenExecutionResult result = executor.options("-q").execute();
+
+    assertThat(new String(Files.readAllBytes(result.getMavenLog().getStdout())))
+        .contains("--global-settings mvn-settings.xml -Ditf.mock.repository.url=http://127.0.0.1:1/ -q package")
+        .doesNotContain("-B");
+  }
+}
@@ -0,0 +1,97 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class MockRepositoryServerTest {
+
+  private static HttpURLConnection connect(URI uri, String method) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+    connection.setRequestMethod(method);
+    return connection;
+  }
+
+  @Test
+  void should_serve_and_store_artifacts(@TempDir Path tempDir) throws IOException {
+    Files.createDirectories(tempDir.resolve("org/test/a/1.0"));
+    Files.write(tempDir.resolve("org/test/a/1.0/a-1.0.pom"), "<project/>".getBytes());
+
+    try (MockRepositoryServer server = MockRepositoryServer.start(tempDir)) {
+      URI url = server.getResult().getUrl();
+
+      HttpURLConnection get = connect(url.resolve("org/test/a/1.0/a-1.0.pom"), "GET");
+      assertThat(get.getResponseCode()).isEqualTo(200);
+      try (InputStream inputStream = get.getInputStream()) {
+        byte[] content = new byte[10];
+        assertThat(inputStream.read(content)).isEqualTo(10);
+        assertThat(new String(content)).isEqualTo("<project/>");
+      }
+
+      assertThat(connect(url.resolve("org/test/b/1.0/b-1.0.pom"), "GET").getResponseCode()).isEqualTo(404);
+
+      HttpURLConnection put = connect(url.resolve("org/test/c/1.0/c-1.0.jar"), "PUT");
+      put.setDoOutput(true);
+      try (OutputStream outputStream = put.getOutputStream()) {
+        outputStream.write("jar".getBytes());
+      }
+      assertThat(put.getResponseCode()).isEqualTo(201);
+
+      MockRepositoryResult result = server.getResult();
+      assertThat(result.getRequestCount()).isEqualTo(3);
+      assertThat(result.getRequestCount("GET")).isEqualTo(2);
+      assertThat(result.getRequests()).extracting(MockRepositoryResult.Request::getStatus).containsExactly(200, 404, 201);
+      assertThat(result.getMaximumLatency()).isPositive();
+    }
+    assertThat(tempDir.resolve("org/test/c/1.0/c-1.0.jar")).hasContent("jar");
+  }
+
+  @Test
+  void should_use_different_ports_for_concurrent_servers(@TempDir Path tempDir) throws IOException {
+    try (MockRepositoryServer first = MockRepositoryServer.start(tempDir.resolve("first"));
+         MockRepositoryServer second = MockRepositoryServer.start(tempDir.resolve("second"))) {
+      assertThat(first.getResult().getUrl().getHost()).isEqualTo(second.getResult().getUrl().getHost());
+      assertThat(first.getResult().getUrl().getPort()).isNotEqualTo(second.getResult().getUrl().getPort());
+    }
+  }
+
+  @Test
+  void should_not_serve_files_outside_of_the_repository(@TempDir Path tempDir) throws IOException {
+    Files.write(tempDir.resolve("secret"), "secret".getBytes());
+    try (MockRepositoryServer server = MockRepositoryServer.start(tempDir.resolve("repository"))) {
+      URI url = server.getResult().getUrl();
+      assertThat(connect(URI.create(url + "%2e%2e/secret"), "GET").getResponseCode()).isEqualTo(403);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ModelCacheTest {
+
+  private final AtomicInteger numberOfReads = new AtomicInteger();
+
+  private final Function<Path, Model> reader = path -> {
+    numberOfReads.incrementAndGet();
+    Model model = new Model();
+    model.setArtifactId(path.getFileName().toString());
+    return model;
+  };
+
+  private static Path pom(Path directory, String name) throws IOException {
+    return Files.write(directory.resolve(name), "<project/>".getBytes());
+  }
+
+  @Test
+  void should_read_the_file_only_once(@TempDir Path tempDir) throws IOException {
+    ModelCache modelCache = new ModelCache(2);
+    Path pom = pom(tempDir, "pom.xml");
+
+    Model first = modelCache.get(pom, reader);
+    Model second = modelCache.get(pom, reader);
+
+    assertThat(first).isSameAs(second);
+    assertThat(numberOfReads).hasValue(1);
+  }
+
+  @Test
+  void should_read_the_file_again_if_it_has_been_changed(@TempDir Path tempDir) throws IOException {
+    ModelCache modelCache = new ModelCache(2);
+    Path pom = pom(tempDir, "pom.xml");
+
+    modelCache.get(pom, reader);
+    Files.setLastModifiedTime(pom, FileTime.fromMillis(Files.getLastModifiedTime(pom).toMillis() - 10_000L));
+    modelCache.get(pom, reader);
+
+    assertThat(numberOfReads).hasValue(2);
+  }
+
+  @Test
+  void should_evict_the_least_recently_used_model(@TempDir Path tempDir) throws IOException {
+    ModelCache modelCache = new ModelCache(2);
+    Path first = pom(tempDir, "first.xml");
+    Path second = pom(tempDir, "second.xml");
+    Path third = pom(tempDir, "third.xml");
+
+    modelCache.get(first, reader);
+    modelCache.get(second, reader);
+    modelCache.get(first, reader);
+    modelCache.get(third, reader);
+    assertThat(modelCache.size()).isEqualTo(2);
+    assertThat(numberOfReads).hasValue(3);
+
+    modelCache.get(first, reader);
+    assertThat(numberOfReads).hasValue(3);
+    modelCache.get(second, reader);
+    assertThat(numberOfReads).hasValue(4);
+  }
+}
@@ -21,8 +21,13 @@ package com.soebes.itf.jupiter.maven;
 
 import org.apache.maven.model.Model;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -39,4 +44,19 @@ class ProjectHelperTest {
     assertThat(model.getArtifactId()).isEqualTo("versions-maven-plugin");
     assertThat(model.getVersion()).isEqualTo("2.8-SNAPSHOT");
   }
-}
\ No newline at end of file
+
+  @Test
+  void should_give_a_copy_of_the_cached_model(@TempDir Path tempDir) throws IOException {
+    Path pomFile = tempDir.resolve("pom.xml");
+    try (InputStream resourceAsStream = this.getClass().getResourceAsStream("/pom.xml")) {
+      Files.copy(resourceAsStream, pomFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    Model first = ProjectHelper.readProject(pomFile.toFile());
+    first.setVersion("changed");
+    Model second = ProjectHelper.readProject(pomFile.toFile());
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getVersion()).isEqualTo("2.8-SNAPSHOT");
+  }
+}
@@ -0,0 +1,113 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ProjectsTest {
+
+  private MavenProjectResult root;
+
+  private static void pom(Path directory, String artifactId, String... modules) throws IOException {
+    StringBuilder pom = new StringBuilder("<project><modelVersion>4.0.0</modelVersion>")
+        .append("<groupId>com.soebes.itf</groupId><artifactId>").append(artifactId).append("</artifactId>")
+        .append("<version>1.0</version><modules>");
+    for (String module : modules) {
+      pom.append("<module>").append(module).append("</module>");
+    }
+    pom.append("</modules></project>");
+    Files.createDirectories(directory);
+    Files.write(directory.resolve("pom.xml"), pom.toString().getBytes());
+  }
+
+  @BeforeEach
+  void beforeEach(@TempDir Path tempDir) throws IOException {
+    pom(tempDir, "root", "module-a", "module-b", "broken");
+    pom(tempDir.resolve("module-a"), "artifact-a");
+    pom(tempDir.resolve("module-b"), "artifact-b");
+    Files.createDirectories(tempDir.resolve("broken"));
+    Files.write(tempDir.resolve("broken").resolve("pom.xml"), "not a pom".getBytes());
+    pom(tempDir.resolve("module-of-profile"), "artifact-of-profile");
+    this.root = new MavenProjectResult(tempDir.toFile());
+  }
+
+  @Test
+  void should_give_the_modules_without_reading_them() {
+    assertThat(root.getModules().getProjects())
+        .extracting(project -> project.getBaseDir().getName())
+        .containsExactly("module-a", "module-b", "broken");
+  }
+
+  @Test
+  void should_find_a_module_by_its_name_and_link_the_parent() {
+    MavenProjectResult moduleB = root.getModules().findByModule("module-b").orElseThrow(IllegalStateException::new);
+
+    assertThat(moduleB.getModel().getArtifactId()).isEqualTo("artifact-b");
+    assertThat(moduleB.getParent()).containsSame(root);
+    assertThat(root.getModules().findByModule("module-b")).containsSame(moduleB);
+  }
+
+  @Test
+  void should_only_read_modules_until_the_artifact_id_has_been_found() {
+    assertThat(root.getModules().findByArtifactId("artifact-b"))
+        .hasValueSatisfying(project -> assertThat(project.getBaseDir().getName()).isEqualTo("module-b"));
+    assertThat(root.getModules().findByArtifactId("artifact-a"))
+        .hasValueSatisfying(project -> assertThat(project.getBaseDir().getName()).isEqualTo("module-a"));
+  }
+
+  @Test
+  void should_find_a_module_of_a_profile_by_its_artifact_id_after_it_has_been_found_by_its_name() {
+    assertThat(root.getModules().findByModule("module-of-profile")).isPresent();
+
+    assertThat(root.getModules().findByArtifactId("artifact-of-profile"))
+        .hasValueSatisfying(project -> assertThat(project.getBaseDir().getName()).isEqualTo("module-of-profile"));
+  }
+
+  @Test
+  void should_fail_only_when_a_broken_module_is_read() {
+    MavenProjectResult broken = root.getModules().findByModule("broken").orElseThrow(IllegalStateException::new);
+
+    assertThatIllegalStateException().isThrownBy(broken::getModel);
+  }
+
+  @Test
+  void should_not_find_a_not_existing_module() {
+    assertThat(root.getModules().findByModule("unknown")).isEmpty();
+  }
+
+  @Test
+  void should_not_find_a_not_existing_artifact_id() {
+    MavenProjectResult moduleA = root.getModules().findByModule("module-a").orElseThrow(IllegalStateException::new);
+
+    assertThat(moduleA.getModules().findByArtifactId("unknown")).isEmpty();
+  }
+}
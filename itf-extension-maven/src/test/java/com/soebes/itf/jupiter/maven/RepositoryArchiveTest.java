@@ -0,0 +1,88 @@
+package com.soebes.itf.jupiter.maven;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class RepositoryArchiveTest {
+
+  private static Path archive(Path directory, String... entryNames) throws IOException {
+    Path archive = directory.resolve("repo" + RepositoryArchive.EXTENSION);
+    try (OutputStream outputStream = Files.newOutputStream(archive);
+         ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      for (String entryName : entryNames) {
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setTime(1_500_000_000_000L);
+        zipOutputStream.putNextEntry(entry);
+        if (!entry.isDirectory()) {
+          zipOutputStream.write(entryName.getBytes());
+        }
+        zipOutputStream.closeEntry();
+      }
+    }
+    return archive;
+  }
+
+  @Test
+  void should_extract_all_entries_in_parallel(@TempDir Path tempDir) throws IOException {
+    Path archive = archive(tempDir, "org/", "org/a/1.0/a-1.0.pom", "org/a/1.0/a-1.0.jar", "org/b/2.0/b-2.0.pom");
+    Path repository = tempDir.resolve("repository");
+
+    assertThat(RepositoryArchive.extract(archive, repository, 4)).hasSize(3);
+
+    assertThat(repository.resolve("org/a/1.0/a-1.0.jar")).hasContent("org/a/1.0/a-1.0.jar");
+    assertThat(repository.resolve("org/b/2.0/b-2.0.pom")).hasContent("org/b/2.0/b-2.0.pom");
+  }
+
+  @Test
+  void should_not_extract_unchanged_files_again(@TempDir Path tempDir) throws IOException {
+    Path archive = archive(tempDir, "org/a/1.0/a-1.0.pom", "org/a/1.0/a-1.0.jar");
+    Path repository = tempDir.resolve("repository");
+    RepositoryArchive.extract(archive, repository, 1);
+
+    Files.write(repository.resolve("org/a/1.0/a-1.0.pom"), "changed".getBytes());
+
+    assertThat(RepositoryArchive.extract(archive, repository, 1))
+        .containsExactly(repository.toAbsolutePath().resolve("org/a/1.0/a-1.0.pom"));
+    assertThat(repository.resolve("org/a/1.0/a-1.0.pom")).hasContent("org/a/1.0/a-1.0.pom");
+  }
+
+  @Test
+  void should_fail_for_entries_outside_of_the_repository(@TempDir Path tempDir) throws IOException {
+    Path archive = archive(tempDir, "../evil.jar");
+
+    assertThatIOException().isThrownBy(() -> RepositoryArchive.extract(archive, tempDir.resolve("repository"), 1))
+        .withMessageContaining("../evil.jar");
+  }
+}
@@ -19,12 +19,18 @@ package com.soebes.itf.jupiter.extension;
  * under the License.
  */
 
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -163,4 +169,76 @@ class AnnotationHelper {
     return findAnnotation(context, MavenPredefinedRepository.class);
   }
 
+  /**
+   * @param context The context of the test method.
+   * @return The {@link MavenMockRepository @MavenMockRepository} of the test method or of one of the enclosing classes.
+   */
+  static Optional<MavenMockRepository> mockRepository(ExtensionContext context) {
+    Optional<MavenMockRepository> annotation = context.getTestMethod()
+        .map(method -> method.getAnnotation(MavenMockRepository.class));
+    if (annotation.isPresent()) {
+      return annotation;
+    }
+    return findAnnotation(context, MavenMockRepository.class).map(c -> c.getAnnotation(MavenMockRepository.class));
+  }
+
+  /**
+   * @param context {@link ExtensionContext}
+   * @return {@code true} if the effective models have to be captured via {@link MavenEffectiveModels}
+   * on the test method or one of the (enclosing) test classes.
+   */
+  static boolean hasEffectiveModels(ExtensionContext context) {
+    return context.getTestMethod().map(method -> method.isAnnotationPresent(MavenEffectiveModels.class)).orElse(false)
+        || findAnnotation(context, MavenEffectiveModels.class).isPresent();
+  }
+
+  /**
+   * @param testClass The test class.
+   * @param method The test method.
+   * @return {@code true} if the project of the test method is shared with other test methods via
+   * {@link MavenProject @MavenProject} or {@link MavenContinueFrom @MavenContinueFrom} (either as a
+   * step of a chain or as the method which is referenced by a step). The state of such a project
+   * depends on the previous executions.
+   */
+  static boolean isSharedProject(Class<?> testClass, Method method) {
+    return enclosingClasses(testClass).anyMatch(c -> c.isAnnotationPresent(MavenProject.class))
+        || method.isAnnotationPresent(MavenContinueFrom.class)
+        || Stream.of(testClass.getDeclaredMethods())
+        .map(m -> m.getAnnotation(MavenContinueFrom.class))
+        .anyMatch(c -> c != null && c.value().equals(method.getName()));
+  }
+
+  static Stream<Class<?>> enclosingClasses(Class<?> testClass) {
+    Stream.Builder<Class<?>> classes = Stream.builder();
+    for (Class<?> current = testClass; current != null; current = current.getEnclosingClass()) {
+      classes.add(current);
+    }
+    return classes.build();
+  }
+
+  /**
+   * Follows the {@link MavenContinueFrom @MavenContinueFrom} annotations of the given method
+   * back to the first step of the chain.
+   *
+   * @param method The test method.
+   * @return The test method which starts the chain. This is the given method if it is not
+   * annotated with {@link MavenContinueFrom @MavenContinueFrom}.
+   * @throws ExtensionConfigurationException in case the referenced method does not exist or the chain is a cycle.
+   */
+  static Method firstStepOf(Method method) {
+    Set<String> visited = new HashSet<>();
+    Method current = method;
+    while (current.isAnnotationPresent(MavenContinueFrom.class)) {
+      String previous = current.getAnnotation(MavenContinueFrom.class).value();
+      if (!visited.add(current.getName())) {
+        throw new ExtensionConfigurationException("The @MavenContinueFrom of " + method.getName() + " is a cycle.");
+      }
+      current = ReflectionSupport.findMethods(method.getDeclaringClass(), m -> m.getName().equals(previous),
+          HierarchyTraversalMode.BOTTOM_UP).stream().findFirst()
+          .orElseThrow(() -> new ExtensionConfigurationException(
+              "The test method " + previous + " given by @MavenContinueFrom of " + method.getName() + " does not exist."));
+    }
+    return current;
+  }
+
 }
@@ -0,0 +1,154 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A repository which contains the plugins of the default lifecycle (resources, compiler, surefire, jar,
+ * install). It is populated once by a warm-up build and afterwards given to each test case as a read-only
+ * tail of its local cache ({@code -Dmaven.repo.local.tail}), so the plugins are not resolved again for
+ * each test case.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The tail of the local repository is supported by Maven 3.9.0 and above. Older versions
+ * ignore the property and resolve the plugins into the local cache of the test case as before.
+ * The warm-up build is executed again if another Maven installation is used.
+ * A {@link FileLock} is held by the whole JVM, so the threads of the same JVM are serialised
+ * via {@code synchronized} and other JVMs (for example the forks of the maven-failsafe-plugin
+ * or parallel builds) via a lock file within the baseline repository.
+ */
+final class BaselineRepository {
+
+  /**
+   * The system property which defines the location of the baseline repository. The baseline repository
+   * is only used if this property is defined.
+   */
+  static final String ITF_BASELINE_REPOSITORY = "itf.baseline.repository";
+
+  static final String MAVEN_REPO_LOCAL_TAIL = "maven.repo.local.tail";
+
+  /**
+   * The file which marks a baseline repository as populated. It contains the identity of the Maven installation
+   * of the warm-up build (see {@link MavenLocator#installation(Path)}).
+   */
+  static final String MARKER = ".itf-baseline";
+
+  /**
+   * The file which is locked during the warm-up build.
+   */
+  static final String LOCK_FILE = ".itf-lock";
+
+  private static final List<String> WARM_UP_POM = Arrays.asList(
+      "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+      "  <modelVersion>4.0.0</modelVersion>",
+      "  <groupId>com.soebes.itf.baseline</groupId>",
+      "  <artifactId>warm-up</artifactId>",
+      "  <version>1.0</version>",
+      "  <properties>",
+      "    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>",
+      "    <maven.compiler.source>1.8</maven.compiler.source>",
+      "    <maven.compiler.target>1.8</maven.compiler.target>",
+      "  </properties>",
+      "</project>");
+
+  private BaselineRepository() {
+    // intentionally empty.
+  }
+
+  /**
+   * @return The location of the baseline repository if defined via {@link #ITF_BASELINE_REPOSITORY}.
+   */
+  static Optional<File> directory() {
+    return Optional.ofNullable(System.getProperty(ITF_BASELINE_REPOSITORY))
+        .filter(s -> !s.trim().isEmpty())
+        .map(File::new);
+  }
+
+  /**
+   * Populates the baseline repository via a warm-up build unless it has already been populated
+   * by the same Maven installation.
+   *
+   * @param baseline The baseline repository.
+   * @param mavenExecutable The Maven executable.
+   * @return The argument which defines the baseline repository as tail of the local cache.
+   * @throws IOException in case of failure to create the warm-up project.
+   * @throws InterruptedException in case the warm-up build has been interrupted.
+   * @throws ExtensionConfigurationException in case the warm-up build failed.
+   */
+  static synchronized String prepare(File baseline, Path mavenExecutable) throws IOException, InterruptedException {
+    String expected = MavenLocator.installation(mavenExecutable);
+    if (!isPrepared(baseline, expected)) {
+      Files.createDirectories(baseline.toPath());
+      try (FileChannel channel = FileChannel.open(baseline.toPath().resolve(LOCK_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE);
+           FileLock lock = channel.lock()) {
+        // Another JVM might have populated the baseline repository while waiting for the lock.
+        if (!isPrepared(baseline, expected)) {
+          warmUp(baseline, mavenExecutable);
+          Files.write(baseline.toPath().resolve(MARKER), expected.getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    }
+    return "-D" + MAVEN_REPO_LOCAL_TAIL + "=" + baseline.getAbsolutePath();
+  }
+
+  private static boolean isPrepared(File baseline, String installation) throws IOException {
+    Path marker = baseline.toPath().resolve(MARKER);
+    return Files.isRegularFile(marker)
+        && installation.equals(new String(Files.readAllBytes(marker), StandardCharsets.UTF_8));
+  }
+
+  private static void warmUp(File baseline, Path mavenExecutable) throws IOException, InterruptedException {
+    Files.createDirectories(baseline.toPath());
+    Path project = Files.createTempDirectory("itf-baseline");
+    try {
+      Files.write(project.resolve("pom.xml"), WARM_UP_POM);
+      Path sources = Files.createDirectories(project.resolve("src/main/java"));
+      Files.write(sources.resolve("WarmUp.java"), Collections.singletonList("class WarmUp {}"));
+      Files.createDirectories(project.resolve("src/main/resources"));
+
+      ApplicationExecutor executor = new ApplicationExecutor(project.toFile(), baseline, mavenExecutable,
+          Collections.emptyList(), MARKER);
+      int returnCode = executor.startAndWaitUntilEnded(Arrays.asList(MavenCLIOptions.BATCH_MODE,
+          "-Dmaven.repo.local=" + baseline.getAbsolutePath(), "install"));
+      if (returnCode != 0) {
+        throw new ExtensionConfigurationException("The warm-up build of the baseline repository " + baseline
+            + " failed. See " + executor.getStdout());
+      }
+    } finally {
+      FileUtils.deleteQuietly(project.toFile());
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Deduplicates the files of the test projects. By default (the system property {@link #ITF_PROJECT_DEDUPLICATE}
+ * is {@code true}) a test project is copied via copy-on-write (reflink) if the file system supports it, so the
+ * copy shares the blocks of the test project until a build changes a file. Otherwise the test project is copied.
+ * <p>
+ * If the system property is {@code link} a content addressed store is used instead: each distinct content is
+ * stored once as blob (named by the SHA-256 of the content) and the files of a test project are hard
+ * links to the blobs. Byte-identical test projects (or files) therefore occupy the space only once.</p>
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote Hard links share the content with all other test projects. The blobs are read-only, so a build or a
+ * test which writes a file of the project in place fails instead of changing all projects which share the blob.
+ * As {@code root} ignores the permissions, the {@code link} mode is refused for {@code root}. The content of a
+ * blob is verified once per JVM (and whenever its size or modification time changes) before it is linked, so a
+ * blob which has been changed by a previous run is replaced. Reflinks are created via {@code cp --reflink=always}
+ * of GNU coreutils and are therefore only available on Linux.
+ */
+final class BlobStore {
+
+  /**
+   * The system property which enables the deduplication of the test projects: {@code true} for copy-on-write
+   * copies or {@code link} for hard links to a content addressed store.
+   */
+  static final String ITF_PROJECT_DEDUPLICATE = "itf.project.deduplicate";
+
+  static final String LINK = "link";
+
+  /**
+   * The hashes of the files which have already been stored, keyed by path, size and last modification time.
+   */
+  private static final Map<String, String> HASHES = new ConcurrentHashMap<>();
+
+  /**
+   * The blobs whose content has been verified, keyed by path, size and last modification time.
+   */
+  private static final Set<String> VERIFIED = ConcurrentHashMap.newKeySet();
+
+  private static volatile Boolean reflinkSupported;
+
+  private final Path directory;
+
+  BlobStore(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * @return {@code true} if the deduplication has been enabled via {@link #ITF_PROJECT_DEDUPLICATE}.
+   * @implNote Not supported on Windows cause read-only files can not be deleted there.
+   */
+  static boolean isEnabled() {
+    String value = System.getProperty(ITF_PROJECT_DEDUPLICATE, "false");
+    return (Boolean.parseBoolean(value) || LINK.equals(value)) && !OS.WINDOWS.isCurrentOs();
+  }
+
+  /**
+   * @return {@code true} if the files should be hard links to the content addressed store.
+   */
+  static boolean isLink() {
+    return LINK.equals(System.getProperty(ITF_PROJECT_DEDUPLICATE));
+  }
+
+  /**
+   * Copies the test project via copy-on-write if supported by the file system or otherwise as usual.
+   *
+   * @param source The test project.
+   * @param target The project directory of the test case.
+   * @throws IOException in case of failure to copy the project.
+   */
+  static void copyOnWrite(Path source, Path target) throws IOException {
+    if (!isReflinkSupported(target.getParent()) || !reflink(source, target)) {
+      copy(source, target);
+    }
+  }
+
+  /**
+   * Copies the files incl. their attributes. In contrast to {@code FileUtils.copyDirectory} the modification
+   * times are kept as precise as the platform allows.
+   */
+  private static void copy(Path source, Path target) throws IOException {
+    for (Path path : paths(source)) {
+      Path targetPath = target.resolve(source.relativize(path).toString());
+      if (Files.isDirectory(path)) {
+        Files.createDirectories(targetPath);
+      } else {
+        Files.copy(path, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+      }
+    }
+  }
+
+  /**
+   * @param directory A directory on the file system which is checked.
+   * @return {@code true} if the current user is {@code root}, which ignores the permissions of files.
+   * @throws IOException in case of failure to create a file within the directory.
+   */
+  static boolean isRoot(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    Path probe = Files.createTempFile(directory, "itf-uid", ".tmp");
+    try {
+      return Integer.valueOf(0).equals(Files.getAttribute(probe, "unix:uid"));
+    } catch (UnsupportedOperationException | IllegalArgumentException e) {
+      return false;
+    } finally {
+      Files.delete(probe);
+    }
+  }
+
+  /**
+   * @throws ExtensionConfigurationException in case the {@code link} mode is used by {@code root}.
+   * @throws IOException in case of failure to access the store.
+   */
+  void ensureSupported() throws IOException {
+    if (isRoot(directory)) {
+      throw new ExtensionConfigurationException("The deduplication via hard links (-D" + ITF_PROJECT_DEDUPLICATE
+          + "=" + LINK + ") is not supported for root, cause root can change the shared files. Use -D"
+          + ITF_PROJECT_DEDUPLICATE + "=true instead.");
+    }
+  }
+
+  /**
+   * Creates the structure of the source directory within the target directory where each file
+   * is a link to the blob of its content.
+   *
+   * @param source The test project.
+   * @param target The project directory of the test case.
+   * @return The number of files which have been linked.
+   * @throws IOException in case of failure to store or link a file.
+   */
+  int copyDirectory(Path source, Path target) throws IOException {
+    int linked = 0;
+    for (Path path : paths(source)) {
+      Path targetPath = target.resolve(source.relativize(path).toString());
+      if (Files.isDirectory(path)) {
+        Files.createDirectories(targetPath);
+      } else if (link(store(path), targetPath)) {
+        linked++;
+      }
+    }
+    return linked;
+  }
+
+  /**
+   * @param file The file which is stored.
+   * @return The blob with the content of the file.
+   * @throws IOException in case of failure to read the file or to write the blob.
+   */
+  Path store(Path file) throws IOException {
+    String key = key(file);
+    String hash = HASHES.get(key);
+    if (hash == null) {
+      hash = sha256(file);
+      HASHES.put(key, hash);
+    }
+    Path blob = directory.resolve(hash.substring(0, 2)).resolve(hash);
+    if (Files.isRegularFile(blob) && !isIntact(blob, hash)) {
+      // The blob has been changed in place (for example by a previous run), so it is replaced.
+      Files.delete(blob);
+    }
+    if (!Files.isRegularFile(blob)) {
+      Files.createDirectories(blob.getParent());
+      Path temporary = blob.resolveSibling(hash + "-" + UUID.randomUUID());
+      Files.copy(file, temporary, StandardCopyOption.COPY_ATTRIBUTES);
+      temporary.toFile().setReadOnly();
+      try {
+        Files.move(temporary, blob, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        // Another test case has stored the same content concurrently.
+        Files.deleteIfExists(temporary);
+      }
+      VERIFIED.add(key(blob));
+    }
+    return blob;
+  }
+
+  private static boolean isIntact(Path blob, String hash) throws IOException {
+    String key = key(blob);
+    if (VERIFIED.contains(key)) {
+      return true;
+    }
+    if (sha256(blob).equals(hash)) {
+      VERIFIED.add(key);
+      return true;
+    }
+    return false;
+  }
+
+  private static String key(Path file) throws IOException {
+    return file.toAbsolutePath() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+  }
+
+  private static boolean isReflinkSupported(Path directory) throws IOException {
+    if (reflinkSupported == null) {
+      synchronized (BlobStore.class) {
+        if (reflinkSupported == null) {
+          Files.createDirectories(directory);
+          Path source = Files.createTempFile(directory, "itf-reflink", ".tmp");
+          Path target = source.resolveSibling(source.getFileName() + ".copy");
+          try {
+            reflinkSupported = OS.LINUX.isCurrentOs()
+                && execute("cp", "--reflink=always", source.toString(), target.toString());
+          } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+          }
+        }
+      }
+    }
+    return reflinkSupported;
+  }
+
+  private static boolean reflink(Path source, Path target) throws IOException {
+    Files.createDirectories(target);
+    return execute("cp", "-R", "--reflink=always", "--preserve=timestamps", source + "/.", target.toString());
+  }
+
+  private static boolean execute(String... command) throws IOException {
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    try (InputStream inputStream = process.getInputStream()) {
+      byte[] buffer = new byte[8192];
+      while (inputStream.read(buffer) != -1) {
+        // The output is not of interest.
+      }
+      return process.waitFor() == 0;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while executing " + String.join(" ", command), e);
+    }
+  }
+
+  private static boolean link(Path blob, Path target) throws IOException {
+    Files.deleteIfExists(target);
+    try {
+      Files.createLink(target, blob);
+      return true;
+    } catch (IOException | UnsupportedOperationException e) {
+      Files.copy(blob, target, StandardCopyOption.COPY_ATTRIBUTES);
+      target.toFile().setWritable(true);
+      return false;
+    }
+  }
+
+  private static List<Path> paths(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static String sha256(Path file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not supported.", e);
+    }
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      byte[] buffer = new byte[8192];
+      for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,96 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Properties;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Excludes the test cases whose inputs (see {@link TestInputs}) have not been changed since
+ * their last successful execution. The filter is only active if the system property
+ * {@code itf.select} is set to {@code changed}, for example {@code -Ditf.select=changed}.
+ * Test cases which share their project with other test cases via {@link MavenProject}
+ * or {@link MavenContinueFrom} are always executed.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The filter is registered via the {@link java.util.ServiceLoader} mechanism.
+ */
+@API(status = INTERNAL, since = "0.10.0")
+public class ChangedTestsFilter implements PostDiscoveryFilter {
+
+  private Properties recorded;
+
+  @Override
+  public FilterResult apply(TestDescriptor testDescriptor) {
+    if (!TestInputs.isEnabled()) {
+      return FilterResult.included("The selection of changed test cases is not enabled.");
+    }
+    Optional<TestSource> source = testDescriptor.getSource();
+    if (!source.isPresent() || !(source.get() instanceof MethodSource)) {
+      return FilterResult.included("Not a test method.");
+    }
+    MethodSource methodSource = (MethodSource) source.get();
+    Class<?> testClass = methodSource.getJavaClass();
+    Method method = methodSource.getJavaMethod();
+    if (AnnotationHelper.enclosingClasses(testClass).noneMatch(c -> AnnotationSupport.isAnnotated(c, MavenJupiterExtension.class))) {
+      return FilterResult.included("Not an integration test.");
+    }
+    if (AnnotationHelper.isSharedProject(testClass, method)) {
+      return FilterResult.included("The project is shared with other test cases.");
+    }
+
+    try {
+      String fingerprint = recorded().getProperty(testDescriptor.getUniqueId().toString());
+      if (fingerprint == null) {
+        return FilterResult.included("The test case has not been executed successfully before.");
+      }
+      File targetDirectory = DirectoryHelper.getTargetDir();
+      File sourceMavenProject = new File(new File(new File(targetDirectory, "test-classes"),
+          DirectoryHelper.toFullyQualifiedPath(testClass)), method.getName());
+      File componentUnderTest = DirectoryResolverResult.componentUnderTestDirectory(targetDirectory);
+      if (fingerprint.equals(TestInputs.fingerprint(testClass, sourceMavenProject, componentUnderTest))) {
+        return FilterResult.excluded("The inputs have not been changed since the last successful execution.");
+      }
+      return FilterResult.included("The inputs have been changed.");
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to determine the inputs of " + testDescriptor.getUniqueId(), e);
+    }
+  }
+
+  private synchronized Properties recorded() throws IOException {
+    if (this.recorded == null) {
+      this.recorded = TestInputs.recorded();
+    }
+    return this.recorded;
+  }
+}
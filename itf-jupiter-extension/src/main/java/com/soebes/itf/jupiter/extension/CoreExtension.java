@@ -0,0 +1,102 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Locates the core extension ({@code itf-core-extension}) which is injected into
+ * the Maven builds of the integration tests via {@code -Dmaven.ext.class.path}.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The location is determined via the class file as a resource, because the
+ * class itself can not be loaded without the Maven core classes on the class path.
+ */
+class CoreExtension {
+
+  /**
+   * The name of the property which defines the file the effective models are written to.
+   */
+  static final String EFFECTIVE_MODELS = "itf.effective.models";
+
+  static final String MAVEN_EXT_CLASS_PATH = "maven.ext.class.path";
+
+  private static final String CAPTURE_CLASS = "com/soebes/itf/maven/extension/EffectiveModelCapture.class";
+
+  private CoreExtension() {
+    // intentionally empty to prevent instantiation.
+  }
+
+  /**
+   * @return The jar file or the class directory of the core extension
+   * or {@link Optional#empty()} if it is not on the class path.
+   */
+  static Optional<File> location() {
+    URL resource = CoreExtension.class.getClassLoader().getResource(CAPTURE_CLASS);
+    if (resource == null) {
+      return Optional.empty();
+    }
+    String url = resource.toExternalForm();
+    String location;
+    if (url.startsWith("jar:file:")) {
+      location = url.substring("jar:".length(), url.indexOf("!/"));
+    } else if (url.startsWith("file:")) {
+      location = url.substring(0, url.length() - CAPTURE_CLASS.length());
+    } else {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(new File(new URI(location)));
+    } catch (URISyntaxException e) {
+      throw new IllegalStateException("Failed to locate the core extension via " + url, e);
+    }
+  }
+
+  /**
+   * Joins the location of the core extension with the {@code maven.ext.class.path} which is already
+   * given within the arguments (as {@code -Dmaven.ext.class.path=...} or {@code -D maven.ext.class.path=...}),
+   * so the extensions of the user are kept.
+   *
+   * @param location The location of the core extension.
+   * @param arguments The arguments of the Maven execution.
+   * @return The argument which defines the extension class path.
+   */
+  static String classPath(File location, List<String> arguments) {
+    String prefix = MAVEN_EXT_CLASS_PATH + "=";
+    List<String> classPath = new ArrayList<>();
+    for (int i = 0; i < arguments.size(); i++) {
+      String argument = arguments.get(i);
+      if (argument.startsWith("-D" + prefix)) {
+        classPath.add(argument.substring(2 + prefix.length()));
+      } else if (argument.equals("-D") && i + 1 < arguments.size() && arguments.get(i + 1).startsWith(prefix)) {
+        classPath.add(arguments.get(i + 1).substring(prefix.length()));
+      }
+    }
+    classPath.add(location.getAbsolutePath());
+    return "-D" + prefix + String.join(File.pathSeparator, classPath);
+  }
+
+}
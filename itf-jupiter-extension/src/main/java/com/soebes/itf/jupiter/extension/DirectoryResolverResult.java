@@ -22,7 +22,10 @@ package com.soebes.itf.jupiter.extension;
 import org.junit.jupiter.api.extension.ExtensionContext;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Optional;
 
 /**
@@ -30,6 +33,18 @@ import java.util.Optional;
  */
 class DirectoryResolverResult {
 
+  /**
+   * The system property which defines the location of the repository which contains the component under test,
+   * for example a repository which is shared by all modules of a multi module build.
+   */
+  static final String ITF_REPOSITORY = "itf.repository";
+
+  /**
+   * The file within the target directory which contains the location of the shared repository of the reactor.
+   * It is written by the {@code install} goal of the {@code itf-maven-plugin} if {@code sharedRepository} is used.
+   */
+  static final String ITF_REPOSITORY_LOCATION = "itf-repo.location";
+
   private final File mavenItTestCaseBaseDirectory;
 
   private final File mavenBaseDirectory;
@@ -65,12 +80,14 @@ class DirectoryResolverResult {
       this.integrationTestCaseDirectory = new File(this.getMavenItTestCaseBaseDirectory(),
           mavenProjectAnnotation.value());
     } else {
-      this.integrationTestCaseDirectory = new File(this.getMavenItTestCaseBaseDirectory(), methodName.getName());
+      // All steps of a chain (@MavenContinueFrom) share the directory of the first step.
+      this.integrationTestCaseDirectory = new File(this.getMavenItTestCaseBaseDirectory(),
+          AnnotationHelper.firstStepOf(methodName).getName());
     }
 
     this.projectDirectory = new File(integrationTestCaseDirectory, "project");
     this.mavenItsBaseDirectory = new File(DirectoryHelper.getTargetDir(), "test-classes");
-    this.componentUnderTestDirectory = new File(this.getTargetDirectory(), "itf-repo"); // Hard Coded!!
+    this.componentUnderTestDirectory = componentUnderTestDirectory(this.getTargetDirectory());
 
     Class<?> testClass = context.getTestClass().orElseThrow(() -> new IllegalStateException("Test class not found."));
     String toFullyQualifiedPath = DirectoryHelper.toFullyQualifiedPath(testClass);
@@ -81,7 +98,7 @@ class DirectoryResolverResult {
       MavenProject mavenProjectAnnotation = mavenProject.get().getAnnotation(MavenProject.class);
       this.sourceMavenProject = new File(intermediate, mavenProjectAnnotation.value());
     } else {
-      this.sourceMavenProject = new File( intermediate, methodName.getName());
+      this.sourceMavenProject = new File( intermediate, AnnotationHelper.firstStepOf(methodName).getName());
     }
 
     Optional<Class<?>> optionalMavenRepository = AnnotationHelper.findMavenRepositoryAnnotation(context);
@@ -108,6 +125,29 @@ class DirectoryResolverResult {
 
   }
 
+  /**
+   * The repository is defined by the system property {@link #ITF_REPOSITORY}, the location
+   * of a shared repository (see {@link #ITF_REPOSITORY_LOCATION}) or {@code target/itf-repo} in this order.
+   *
+   * @param targetDirectory The target directory of the current project.
+   * @return The repository which contains the component under test.
+   */
+  static File componentUnderTestDirectory(File targetDirectory) {
+    Optional<File> repository = Optional.ofNullable(System.getProperty(ITF_REPOSITORY)).map(File::new);
+    if (repository.isPresent()) {
+      return repository.get();
+    }
+    File location = new File(targetDirectory, ITF_REPOSITORY_LOCATION);
+    if (location.isFile()) {
+      try {
+        return new File(new String(Files.readAllBytes(location.toPath()), StandardCharsets.UTF_8).trim());
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to read the location of the shared repository " + location, e);
+      }
+    }
+    return new File(targetDirectory, "itf-repo"); // Hard Coded!!
+  }
+
   final File getComponentUnderTestDirectory() {
     return componentUnderTestDirectory;
   }
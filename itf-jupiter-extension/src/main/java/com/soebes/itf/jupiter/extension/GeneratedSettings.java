@@ -0,0 +1,213 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@code settings.xml} which is generated for a test case. It contains an active profile which
+ * defines additional remote repositories (for example the {@code itf-repo} via a {@code file://} URL).
+ * The file is given via {@code --global-settings}, so the user settings (mirrors, proxies, servers)
+ * are still used. The global settings of the Maven installation ({@code conf/settings.xml}) are
+ * replaced by the file, therefore their mirrors, proxies and servers are copied into it.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote Other elements of the global settings of the installation (for example profiles or
+ * plugin groups) are not copied and not used by the builds of the test cases.
+ * Repositories which are given as {@code file://} URLs have the layout of a local repository
+ * which does not contain checksums and {@code maven-metadata.xml} files. Therefore the checksum policy is
+ * {@code ignore} and snapshots are resolved via their base version.
+ */
+final class GeneratedSettings {
+
+  /**
+   * The system property which enables the lazy materialisation of the local cache. The local cache
+   * of a test case starts empty and the artifacts of the {@code itf-repo} and the predefined
+   * repository are resolved on demand.
+   */
+  static final String ITF_REPOSITORY_LAZY = "itf.repository.lazy";
+
+  private static final String PROFILE = "itf-generated";
+
+  /**
+   * The elements of the global settings of the Maven installation which are copied.
+   */
+  private static final List<String> INHERITED = Arrays.asList("mirrors", "proxies", "servers");
+
+  private final Map<String, URI> repositories;
+
+  GeneratedSettings() {
+    this.repositories = new LinkedHashMap<>();
+  }
+
+  /**
+   * @return {@code true} if the lazy materialisation has been enabled via {@link #ITF_REPOSITORY_LAZY}.
+   */
+  static boolean isLazy() {
+    return Boolean.getBoolean(ITF_REPOSITORY_LAZY);
+  }
+
+  /**
+   * Adds a remote repository. The repositories are used in the order they have been added.
+   *
+   * @param id The id of the repository.
+   * @param url The URL of the repository.
+   * @return this.
+   */
+  GeneratedSettings repository(String id, URI url) {
+    this.repositories.put(id, url);
+    return this;
+  }
+
+  boolean isEmpty() {
+    return this.repositories.isEmpty();
+  }
+
+  /**
+   * @param settings The file which will be written.
+   * @return The arguments which make Maven use the written file.
+   * @throws IOException in case of failure to write the file.
+   */
+  List<String> write(Path settings) throws IOException {
+    return write(settings, Optional.empty());
+  }
+
+  /**
+   * @param settings The file which will be written.
+   * @param globalSettings The global settings of the Maven installation which are replaced by the file.
+   * @return The arguments which make Maven use the written file.
+   * @throws IOException in case of failure to read the global settings or to write the file.
+   */
+  List<String> write(Path settings, Optional<Path> globalSettings) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    lines.add("<settings xmlns=\"http://maven.apache.org/SETTINGS/1.0.0\">");
+    if (globalSettings.isPresent() && Files.isRegularFile(globalSettings.get())) {
+      lines.addAll(inherited(globalSettings.get()));
+    }
+    lines.add("  <profiles>");
+    lines.add("    <profile>");
+    lines.add("      <id>" + PROFILE + "</id>");
+    repositories(lines, "repositories", "repository");
+    repositories(lines, "pluginRepositories", "pluginRepository");
+    lines.add("    </profile>");
+    lines.add("  </profiles>");
+    lines.add("  <activeProfiles>");
+    lines.add("    <activeProfile>" + PROFILE + "</activeProfile>");
+    lines.add("  </activeProfiles>");
+    lines.add("</settings>");
+    Files.write(settings, lines, StandardCharsets.UTF_8);
+    List<String> arguments = new ArrayList<>();
+    arguments.add(MavenCLIOptions.GLOBAL_SETTINGS);
+    arguments.add(settings.toString());
+    return arguments;
+  }
+
+  private void repositories(List<String> lines, String element, String child) {
+    lines.add("      <" + element + ">");
+    for (Map.Entry<String, URI> repository : this.repositories.entrySet()) {
+      lines.add("        <" + child + ">");
+      lines.add("          <id>" + escape(repository.getKey()) + "</id>");
+      lines.add("          <url>" + escape(repository.getValue().toString()) + "</url>");
+      lines.add("          <releases><checksumPolicy>ignore</checksumPolicy></releases>");
+      lines.add("          <snapshots><enabled>true</enabled><checksumPolicy>ignore</checksumPolicy></snapshots>");
+      lines.add("        </" + child + ">");
+    }
+    lines.add("      </" + element + ">");
+  }
+
+  /**
+   * @param mavenExecutable The Maven executable.
+   * @return The global settings ({@code conf/settings.xml}) of the installation the executable belongs to.
+   * @throws IOException in case of failure to resolve the executable.
+   */
+  static Optional<Path> globalSettings(Path mavenExecutable) throws IOException {
+    Path bin = mavenExecutable.toRealPath().getParent();
+    if (bin == null || bin.getParent() == null) {
+      return Optional.empty();
+    }
+    return Optional.of(bin.getParent().resolve("conf").resolve("settings.xml"))
+        .filter(Files::isRegularFile);
+  }
+
+  /**
+   * @return The elements of the given settings which are copied (see {@link #INHERITED}).
+   */
+  private static List<String> inherited(Path globalSettings) throws IOException {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      factory.setExpandEntityReferences(false);
+      Document document = factory.newDocumentBuilder().parse(globalSettings.toFile());
+      Transformer transformer = TransformerFactory.newInstance().newTransformer();
+      transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+      List<String> lines = new ArrayList<>();
+      NodeList children = document.getDocumentElement().getChildNodes();
+      for (int i = 0; i < children.getLength(); i++) {
+        Node child = children.item(i);
+        if (child.getNodeType() == Node.ELEMENT_NODE && INHERITED.contains(child.getNodeName())) {
+          StringWriter writer = new StringWriter();
+          transformer.transform(new DOMSource(child), new StreamResult(writer));
+          lines.add("  " + writer);
+        }
+      }
+      return lines;
+    } catch (ParserConfigurationException | SAXException | TransformerException e) {
+      throw new IOException("Failed to read the global settings " + globalSettings, e);
+    }
+  }
+
+  /**
+   * @param directory The directory of a repository.
+   * @return The {@code file://} URL of the repository.
+   */
+  static URI fileUrl(File directory) {
+    return directory.getAbsoluteFile().toPath().toUri();
+  }
+
+  private static String escape(String value) {
+    return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+}
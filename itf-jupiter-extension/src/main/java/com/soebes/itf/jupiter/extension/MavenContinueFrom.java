@@ -0,0 +1,56 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * <p>
+ * Defines that the test continues with the project and the local cache which have been
+ * left behind by the given test method of the same class instead of copying the project
+ * again. This makes it possible to express a chain of steps (for example build, modify,
+ * incremental build) as separate test methods.</p>
+ *
+ * <p>The steps of a chain are executed in the right order if the class is annotated with
+ * {@code @TestMethodOrder(MavenContinueFromOrderer.class)}.</p>
+ *
+ * @author Karl Heinz Marbaise
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@API(status = EXPERIMENTAL, since = "0.10.0")
+public @interface MavenContinueFrom {
+
+  /**
+   * @return The name of the test method which is continued.
+   */
+  String value();
+}
@@ -0,0 +1,70 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Orders the test methods so that each method annotated with {@link MavenContinueFrom}
+ * is executed after the method it continues from. Apart from that the order given by
+ * JUnit Jupiter is kept.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@API(status = EXPERIMENTAL, since = "0.10.0")
+public class MavenContinueFromOrderer implements MethodOrderer {
+
+  @Override
+  public void orderMethods(MethodOrdererContext context) {
+    List<MethodDescriptor> ordered = new ArrayList<>();
+    for (MethodDescriptor methodDescriptor : context.getMethodDescriptors()) {
+      add(methodDescriptor, context.getMethodDescriptors(), ordered, new HashSet<>());
+    }
+    context.getMethodDescriptors().sort((a, b) -> Integer.compare(ordered.indexOf(a), ordered.indexOf(b)));
+  }
+
+  private static void add(MethodDescriptor methodDescriptor, List<? extends MethodDescriptor> methodDescriptors,
+                          List<MethodDescriptor> ordered, Set<MethodDescriptor> visiting) {
+    // A cycle is reported by the MavenITExtension while executing the test.
+    if (ordered.contains(methodDescriptor) || !visiting.add(methodDescriptor)) {
+      return;
+    }
+    Optional<MavenContinueFrom> continueFrom = methodDescriptor.findAnnotation(MavenContinueFrom.class);
+    if (continueFrom.isPresent()) {
+      methodDescriptors.stream()
+          .filter(m -> m.getMethod().getName().equals(continueFrom.get().value()))
+          .filter(m -> m != methodDescriptor)
+          .findFirst()
+          .ifPresent(previous -> add(previous, methodDescriptors, ordered, visiting));
+    }
+    ordered.add(methodDescriptor);
+  }
+}
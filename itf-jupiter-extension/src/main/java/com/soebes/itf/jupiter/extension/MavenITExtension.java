@@ -22,13 +22,17 @@ package com.soebes.itf.jupiter.extension;
 import com.soebes.itf.jupiter.maven.MavenCacheResult;
 import com.soebes.itf.jupiter.maven.MavenExecutionResult;
 import com.soebes.itf.jupiter.maven.MavenExecutionResult.ExecutionResult;
+import com.soebes.itf.jupiter.maven.MavenExecutor;
 import com.soebes.itf.jupiter.maven.MavenLog;
 import com.soebes.itf.jupiter.maven.MavenProjectResult;
+import com.soebes.itf.jupiter.maven.MockRepositoryResult;
+import com.soebes.itf.jupiter.maven.MockRepositoryServer;
 import com.soebes.itf.jupiter.maven.ProjectHelper;
+import com.soebes.itf.jupiter.maven.RepositoryArchive;
 import org.apache.commons.io.FileUtils;
-import org.apache.maven.model.Model;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
@@ -37,11 +41,14 @@ import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolver;
 import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.opentest4j.TestAbortedException;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.net.URI;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -67,7 +74,29 @@ import static java.util.stream.Collectors.toList;
  * @author Karl Heinz Marbaise
  */
 class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeTestExecutionCallback,
-    InvocationInterceptor {
+    AfterTestExecutionCallback, InvocationInterceptor {
+
+  /**
+   * The key of the fingerprint of the inputs of a test case within the store.
+   */
+  private static final String FINGERPRINT = "fingerprint";
+
+  /**
+   * The prefix of the key of the outcome of an executed test method within the store of the test class. The value is
+   * {@code true} if the test method has been successful. It is used to check the step of a
+   * {@link MavenContinueFrom @MavenContinueFrom}.
+   */
+  private static final String STEP = "step:";
+
+  /**
+   * The key of the server of the {@link MavenMockRepository @MavenMockRepository} within the store.
+   */
+  private static final String MOCK_REPOSITORY_SERVER = "mockRepositoryServer";
+
+  /**
+   * The system property which contains the URL of the {@link MavenMockRepository @MavenMockRepository}.
+   */
+  private static final String MOCK_REPOSITORY_URL = "itf.mock.repository.url";
 
   /**
    * The command line options which are given is no annotation at all is defined.
@@ -127,6 +156,74 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
     return Optional.ofNullable(System.getenv("PATH"));
   }
 
+  /**
+   * Installs the predefined repository into the local cache. If the directory of the predefined
+   * repository does not exist an archive with the same name plus {@code .zip} (for example
+   * {@code .predefined-repo.zip}) is extracted instead.
+   *
+   * @param predefinedRepository The directory of the predefined repository.
+   * @param cacheDirectory The local cache of the test case.
+   * @throws IOException in case of failure to copy or extract the predefined repository.
+   */
+  private void installPredefinedRepository(File predefinedRepository, File cacheDirectory) throws IOException {
+    File archive = new File(predefinedRepository.getParentFile(),
+        predefinedRepository.getName() + RepositoryArchive.EXTENSION);
+    if (!predefinedRepository.exists() && archive.isFile()) {
+      RepositoryArchive.extract(archive.toPath(), cacheDirectory.toPath(), Runtime.getRuntime().availableProcessors());
+    } else {
+      FileUtils.copyDirectory(predefinedRepository, cacheDirectory);
+    }
+  }
+
+  /**
+   * Copies the test project into the project directory of the test case. If the deduplication has been
+   * enabled via {@link BlobStore#ITF_PROJECT_DEDUPLICATE} the project is copied via copy-on-write or
+   * the files are linked to a shared {@link BlobStore}.
+   *
+   * @param directoryResolverResult The directories of the test case.
+   * @throws IOException in case of failure to copy the project.
+   */
+  private void installProject(DirectoryResolverResult directoryResolverResult) throws IOException {
+    Path source = directoryResolverResult.getSourceMavenProject().toPath();
+    Path target = directoryResolverResult.getProjectDirectory().toPath();
+    if (BlobStore.isEnabled() && BlobStore.isLink()) {
+      BlobStore blobStore = new BlobStore(new File(DirectoryHelper.getTargetDir(), "itf-blobs").toPath());
+      blobStore.ensureSupported();
+      blobStore.copyDirectory(source, target);
+    } else if (BlobStore.isEnabled()) {
+      BlobStore.copyOnWrite(source, target);
+    } else {
+      FileUtils.copyDirectory(source.toFile(), target.toFile());
+    }
+  }
+
+  /**
+   * Copies the {@code itf-repo} which contains the component under test into the local cache unless
+   * the lazy materialisation has been enabled via {@link GeneratedSettings#ITF_REPOSITORY_LAZY}.
+   *
+   * @param directoryResolverResult The directories of the test case.
+   * @throws IOException in case of failure to copy the repository.
+   */
+  private void installComponentUnderTest(DirectoryResolverResult directoryResolverResult) throws IOException {
+    if (!GeneratedSettings.isLazy()) {
+      FileUtils.copyDirectory(directoryResolverResult.getComponentUnderTestDirectory(),
+          directoryResolverResult.getCacheDirectory());
+    }
+  }
+
+  /**
+   * @param repository The directory of a repository which is resolved on demand.
+   * @return The URL of the repository which is served by the {@link RepositoryProxy} if enabled
+   * or the {@code file://} URL of the directory.
+   * @throws IOException in case of failure to start the proxy.
+   */
+  private static URI repositoryUrl(File repository) throws IOException {
+    if (RepositoryProxy.isEnabled()) {
+      return RepositoryProxy.instance().url(repository);
+    }
+    return GeneratedSettings.fileUrl(repository);
+  }
+
   @Override
   public void beforeTestExecution(ExtensionContext context)
       throws IOException, InterruptedException, XmlPullParserException {
@@ -138,7 +235,8 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
     //TODO: In cases where we have MavenProject it might be better to have
     // different directories (which would be more concise with the other assumptions) with directory idea instead
     // of prefixed files.
-    if (mavenProject.isPresent()) {
+    boolean continuation = methodName.isAnnotationPresent(MavenContinueFrom.class);
+    if (mavenProject.isPresent() || continuation) {
       prefix = methodName.getName() + "-mvn";
     }
 
@@ -151,35 +249,64 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
         directoryResolverResult.getProjectDirectory().mkdirs();
         directoryResolverResult.getCacheDirectory().mkdirs();
 
-        FileUtils.copyDirectory(directoryResolverResult.getSourceMavenProject(),
-            directoryResolverResult.getProjectDirectory());
-        FileUtils.copyDirectory(directoryResolverResult.getComponentUnderTestDirectory(),
-            directoryResolverResult.getCacheDirectory());
+        installProject(directoryResolverResult);
+        installComponentUnderTest(directoryResolverResult);
+      } else if (mavenProject.get().getAnnotation(MavenProject.class).snapshot()) {
+        ProjectSnapshot.restore(directoryResolverResult.getSourceMavenProject().toPath(),
+            directoryResolverResult.getProjectDirectory().toPath());
       }
+    } else if (continuation) {
+      verifyPreviousStep(context, methodName);
     } else {
       FileUtils.deleteQuietly(directoryResolverResult.getProjectDirectory());
       directoryResolverResult.getProjectDirectory().mkdirs();
       directoryResolverResult.getCacheDirectory().mkdirs();
 
-      FileUtils.copyDirectory(directoryResolverResult.getSourceMavenProject(),
-          directoryResolverResult.getProjectDirectory());
-      FileUtils.copyDirectory(directoryResolverResult.getComponentUnderTestDirectory(),
-          directoryResolverResult.getCacheDirectory());
+      installProject(directoryResolverResult);
+      installComponentUnderTest(directoryResolverResult);
     }
 
     //Copy ".predefined-repo" into ".m2/repository"
     Optional<File> predefinedRepository = directoryResolverResult.getPredefinedRepository();
+    if (!predefinedRepository.isPresent() && methodName.isAnnotationPresent(MavenPredefinedRepository.class)) {
+      MavenPredefinedRepository annotation = methodName.getAnnotation(MavenPredefinedRepository.class);
+      predefinedRepository = Optional.of(new File(directoryResolverResult.getSourceMavenProject(), annotation.value()));
+    }
+    // In the lazy mode the repositories are resolved on demand instead of being copied into the local cache.
+    GeneratedSettings settings = new GeneratedSettings();
     if (predefinedRepository.isPresent()) {
-      FileUtils.copyDirectory(predefinedRepository.get(),
-          directoryResolverResult.getCacheDirectory());
-    } else {
-      boolean annotationPresent = methodName.isAnnotationPresent(MavenPredefinedRepository.class);
-      if (annotationPresent) {
-        MavenPredefinedRepository annotation = methodName.getAnnotation(MavenPredefinedRepository.class);
-        File predefinedRepoFile = new File(directoryResolverResult.getSourceMavenProject(), annotation.value());
-        FileUtils.copyDirectory(predefinedRepoFile,
-            directoryResolverResult.getCacheDirectory());
+      if (GeneratedSettings.isLazy() && predefinedRepository.get().isDirectory()) {
+        settings.repository("itf-predefined-repo", repositoryUrl(predefinedRepository.get()));
+      } else {
+        installPredefinedRepository(predefinedRepository.get(), directoryResolverResult.getCacheDirectory());
+      }
+    }
+    if (GeneratedSettings.isLazy()) {
+      settings.repository("itf-repo", repositoryUrl(directoryResolverResult.getComponentUnderTestDirectory()));
+    }
+
+    // The mock repository is stopped by JUnit as soon as the test method has been finished.
+    Optional<MavenMockRepository> mockRepository = AnnotationHelper.mockRepository(context);
+    Optional<MockRepositoryResult> mockRepositoryResult = Optional.empty();
+    if (mockRepository.isPresent()) {
+      File content = new File(directoryResolverResult.getSourceMavenProject(), mockRepository.get().value());
+      File mockRepositoryDirectory = new File(integrationTestCaseDirectory, prefix + "-mock-repo");
+      FileUtils.deleteQuietly(mockRepositoryDirectory);
+      if (content.isDirectory()) {
+        FileUtils.copyDirectory(content, mockRepositoryDirectory);
       }
+      MockRepositoryServer server = MockRepositoryServer.start(mockRepositoryDirectory.toPath());
+      new StorageHelper(context).put(MOCK_REPOSITORY_SERVER + context.getUniqueId(),
+          (ExtensionContext.Store.CloseableResource) server::close);
+      new StorageHelper(context).put(ParameterType.MockRepository + context.getUniqueId(), server.getResult());
+      settings.repository("itf-mock-repo", server.getResult().getUrl());
+      mockRepositoryResult = Optional.of(server.getResult());
+    }
+
+    // The inputs have to be determined before the build changes the cache.
+    if (TestInputs.isEnabled()) {
+      new StorageHelper(context).put(FINGERPRINT + context.getUniqueId(), TestInputs.fingerprint(context.getRequiredTestClass(),
+          directoryResolverResult.getSourceMavenProject(), directoryResolverResult.getComponentUnderTestDirectory()));
     }
 
     Optional<Path> mvnLocation = new MavenLocator(FileSystems.getDefault(), getSystemPATH(), OS.WINDOWS.isCurrentOs()).findMvn();
@@ -198,9 +325,26 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
         "-Dmaven.repo.local=" + directoryResolverResult.getCacheDirectory().toString());
     executionArguments.addAll(defaultArguments);
 
+    List<String> settingsArguments = new ArrayList<>();
+    if (!settings.isEmpty()) {
+      settingsArguments.addAll(settings.write(new File(integrationTestCaseDirectory, prefix + "-settings.xml").toPath(),
+          GeneratedSettings.globalSettings(mvnLocation.get())));
+    }
+    mockRepositoryResult.ifPresent(r -> settingsArguments.add("-D" + MOCK_REPOSITORY_URL + "=" + r.getUrl()));
+    executionArguments.addAll(settingsArguments);
+
+    // The baseline repository is shared read-only by all test cases.
+    Optional<String> baselineRepository = Optional.empty();
+    if (BaselineRepository.directory().isPresent()) {
+      baselineRepository = Optional.of(BaselineRepository.prepare(BaselineRepository.directory().get(),
+          mvnLocation.get()));
+      executionArguments.add(baselineRepository.get());
+    }
+
+    List<String> profileAndPropertyArguments = new ArrayList<>();
     if (hasProfiles(context)) {
       String collect = profiles(context).stream().collect(joining(",", "-P", ""));
-      executionArguments.add(collect);
+      profileAndPropertyArguments.add(collect);
     }
 
     if (hasSystemProperties(context)) {
@@ -208,17 +352,24 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
           .stream()
           .map(s -> s.content().isEmpty() ? "-D" + s.value() : "-D" + s.value() + "=" + s.content())
           .collect(toList());
-      executionArguments.addAll(collect);
+      profileAndPropertyArguments.addAll(collect);
     }
-
-    if (hasOptions(context)) {
-      executionArguments.addAll(options(context));
-    } else {
-      // If no option is defined at all the following are the defaults.
-      executionArguments.addAll(DEFAULT_COMMAND_LINE_OPTIONS);
+    executionArguments.addAll(profileAndPropertyArguments);
+
+    // If no option is defined at all the defaults are used.
+    List<String> commandLineOptions = hasOptions(context) ? options(context) : DEFAULT_COMMAND_LINE_OPTIONS;
+    executionArguments.addAll(commandLineOptions);
+
+    // The capture is opt-in, cause it loads the core extension into each build.
+    Path effectiveModels = new File(integrationTestCaseDirectory, prefix + "-effective-models.zip").toPath();
+    Files.deleteIfExists(effectiveModels);
+    if (AnnotationHelper.hasEffectiveModels(context)) {
+      File coreExtension = CoreExtension.location().orElseThrow(() -> new ExtensionConfigurationException(
+          "The core extension (itf-core-extension) to capture the effective models is not on the class path."));
+      executionArguments.add(CoreExtension.classPath(coreExtension, executionArguments));
+      executionArguments.add("-D" + CoreExtension.EFFECTIVE_MODELS + "=" + effectiveModels);
     }
 
-
     if (hasGoals(context)) {
       List<String> resultingGoals = goals(context);
       Map<String, String> keyValues = pomEntries(directoryResolverResult);
@@ -231,9 +382,37 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
     }
 
 
-    Process start = mavenExecutor.start(executionArguments);
+    // The state of a project which is shared via @MavenProject or @MavenContinueFrom depends on the previous executions
+    // and the first step of a chain has to leave the local cache for the next step which is not part of an entry.
+    // The requests to a mock repository can not be replayed and the local cache which is inspected via a
+    // MavenCacheResult is not part of an entry.
+    Optional<ResultCache> resultCache = Optional.empty();
+    Optional<File> resultCacheDirectory = ResultCache.directory();
+    if (resultCacheDirectory.isPresent() && !mockRepository.isPresent()
+        && !AnnotationHelper.isSharedProject(context.getRequiredTestClass(), methodName)
+        && Stream.of(methodName.getParameterTypes()).noneMatch(MavenCacheResult.class::equals)) {
+      resultCache = Optional.of(ResultCache.of(resultCacheDirectory.get(), executionArguments, mvnLocation.get(),
+          directoryResolverResult.getSourceMavenProject(), directoryResolverResult.getComponentUnderTestDirectory(),
+          predefinedRepository));
+    }
+
+    Optional<Integer> cachedReturnCode = Optional.empty();
+    if (resultCache.isPresent()) {
+      cachedReturnCode = resultCache.get().restore(integrationTestCaseDirectory, prefix,
+          directoryResolverResult.getProjectDirectory());
+    }
 
-    int processCompletableFuture = start.waitFor();
+    int processCompletableFuture;
+    if (cachedReturnCode.isPresent()) {
+      processCompletableFuture = cachedReturnCode.get();
+    } else {
+      Process start = mavenExecutor.start(executionArguments);
+      processCompletableFuture = start.waitFor();
+      if (resultCache.isPresent()) {
+        resultCache.get().store(processCompletableFuture, integrationTestCaseDirectory, prefix,
+            directoryResolverResult.getProjectDirectory());
+      }
+    }
 
     ExecutionResult executionResult = ExecutionResult.Successful;
     if (processCompletableFuture != 0) {
@@ -243,14 +422,66 @@ class MavenITExtension implements BeforeEachCallback, ParameterResolver, BeforeT
     MavenLog log = new MavenLog(mavenExecutor.getStdout(), mavenExecutor.getStdErr());
     MavenCacheResult mavenCacheResult = new MavenCacheResult(directoryResolverResult.getCacheDirectory().toPath());
 
-    Model model = ProjectHelper.readProject(new File(directoryResolverResult.getProjectDirectory(), "pom.xml"));
     MavenProjectResult mavenProjectResult = new MavenProjectResult(directoryResolverResult.getProjectDirectory(),
-        model);
+        effectiveModels);
 
     MavenExecutionResult result = new MavenExecutionResult(executionResult, processCompletableFuture, log,
         mavenProjectResult, mavenCacheResult);
 
-    new StorageHelper(context).save(result, log, mavenCacheResult, mavenProjectResult);
+    // The arguments of the extension itself as well as the profiles and system properties of the test case are kept
+    // if a test case replaces the options of the executor.
+    List<String> executorArguments = new ArrayList<>(settingsArguments);
+    baselineRepository.ifPresent(executorArguments::add);
+    executorArguments.addAll(profileAndPropertyArguments);
+    MavenExecutor executor = new MavenExecutor(methodName.getName(), mvnLocation.get(),
+        directoryResolverResult.getProjectDirectory(), integrationTestCaseDirectory,
+        directoryResolverResult.getCacheDirectory(), executorArguments, commandLineOptions);
+
+    new StorageHelper(context).save(result, log, mavenCacheResult, mavenProjectResult, executor);
+  }
+
+  @Override
+  public void afterTestExecution(ExtensionContext context) throws IOException {
+    context.getTestMethod().ifPresent(method -> classStorage(context)
+        .put(STEP + method.getName(), !context.getExecutionException().isPresent()));
+    String fingerprint = new StorageHelper(context).get(FINGERPRINT + context.getUniqueId(), String.class);
+    if (fingerprint != null && !context.getExecutionException().isPresent()) {
+      TestInputs.record(context.getUniqueId(), fingerprint);
+    }
+  }
+
+  /**
+   * Checks that the step a {@link MavenContinueFrom @MavenContinueFrom} continues from has been executed
+   * successfully within the current run. The project directory might have been left behind by a previous run,
+   * so its existence is not sufficient.
+   *
+   * @param context The context of the test method.
+   * @param method The test method which continues from a previous step.
+   * @throws ExtensionConfigurationException if the previous step has not been executed.
+   * @throws TestAbortedException if the previous step has failed.
+   */
+  static void verifyPreviousStep(ExtensionContext context, Method method) {
+    String previousStep = method.getAnnotation(MavenContinueFrom.class).value();
+    Boolean successful = classStorage(context).get(STEP + previousStep, Boolean.class);
+    if (successful == null) {
+      throw new ExtensionConfigurationException("The test method " + previousStep + " has to be executed before "
+          + method.getName() + ".");
+    }
+    if (!successful) {
+      throw new TestAbortedException("The test method " + previousStep + " has failed, so "
+          + method.getName() + " is not executed.");
+    }
+  }
+
+  /**
+   * @return The storage of the test class which contains the given test method.
+   */
+  private static StorageHelper classStorage(ExtensionContext context) {
+    ExtensionContext current = context;
+    while (current.getTestMethod().isPresent() && current.getParent().isPresent()) {
+      current = current.getParent().get();
+    }
+    return new StorageHelper(current);
   }
 
   private Map<String, String> pomEntries(DirectoryResolverResult directoryResolverResult) {
@@ -19,11 +19,13 @@ package com.soebes.itf.jupiter.extension;
  * under the License.
  */
 
+import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * It's the intention to find the {@code mvn} executable.
@@ -48,6 +50,10 @@ class MavenLocator {
    */
   private static final String MAVEN_HOME = "maven.home";
 
+  private static final String MAVEN_CORE = "maven-core-";
+
+  private static final String UNKNOWN_VERSION = "unknown";
+
 
   private final FileSystem fileSystem;
   private final Optional<String> pathEnvironment;
@@ -147,4 +153,32 @@ class MavenLocator {
     }
     return checkExecutableViaPathEnvironment();
   }
+
+  /**
+   * The identity of the Maven installation the given executable belongs to. It consists of the real
+   * location of the executable (links resolved) and the version of the installation which is taken
+   * from the {@code lib/maven-core-*.jar} of the installation. So the identity changes if the
+   * link (for example {@code /usr/bin/mvn}) is changed to another installation or the installation
+   * is upgraded in place.
+   *
+   * @param mavenExecutable The Maven executable.
+   * @return The identity of the installation.
+   * @throws IOException in case of failure to read the installation.
+   */
+  static String installation(Path mavenExecutable) throws IOException {
+    Path executable = Files.exists(mavenExecutable) ? mavenExecutable.toRealPath() : mavenExecutable.toAbsolutePath();
+    Path bin = executable.getParent();
+    Path lib = bin == null || bin.getParent() == null ? null : bin.getParent().resolve("lib");
+    String version = UNKNOWN_VERSION;
+    if (lib != null && Files.isDirectory(lib)) {
+      try (Stream<Path> paths = Files.list(lib)) {
+        version = paths.map(p -> p.getFileName().toString())
+            .filter(name -> name.startsWith(MAVEN_CORE) && name.endsWith(".jar"))
+            .map(name -> name.substring(MAVEN_CORE.length(), name.length() - ".jar".length()))
+            .findFirst()
+            .orElse(UNKNOWN_VERSION);
+      }
+    }
+    return executable + ":" + version;
+  }
 }
@@ -0,0 +1,59 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apiguardian.api.API;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Starts a HTTP repository server for the test case which serves the given directory of the test project
+ * and is bound to a free port of the loopback interface. The repository is made available to Maven via a
+ * generated {@code settings.xml} (id {@code itf-mock-repo}) and its URL via the system property
+ * {@code itf.mock.repository.url}, which can be used as deployment repository. The requests
+ * served by the repository can be checked via the {@link com.soebes.itf.jupiter.maven.MockRepositoryResult}
+ * parameter of the test method.
+ *
+ * @author Karl Heinz Marbaise
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@API(status = EXPERIMENTAL, since = "0.10.0")
+public @interface MavenMockRepository {
+
+  /**
+   * This defines the location of the content of the repository relative to the test project. The content
+   * is copied for each test case, so artifacts deployed by one test case are not visible to others.
+   * If the directory does not exist the repository starts empty.
+   *
+   * @return The location of the content of the repository.
+   */
+  String value() default ".mock-repo";
+
+}
@@ -44,4 +44,15 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 public @interface MavenProject {
 
   String value() default "maven_project";
+
+  /**
+   * If {@code true} the project is restored to the state of the test project before
+   * each test case. Only the files which have been changed by the previous test cases
+   * are restored. Otherwise each test case sees the state which the previous test
+   * case has left behind.
+   *
+   * @return {@code true} to restore the project before each test case.
+   */
+  @API(status = EXPERIMENTAL, since = "0.10.0")
+  boolean snapshot() default false;
 }
@@ -24,6 +24,7 @@ import com.soebes.itf.jupiter.maven.MavenExecutionResult;
 import com.soebes.itf.jupiter.maven.MavenExecutor;
 import com.soebes.itf.jupiter.maven.MavenLog;
 import com.soebes.itf.jupiter.maven.MavenProjectResult;
+import com.soebes.itf.jupiter.maven.MockRepositoryResult;
 
 /**
  * @author Karl Heinz Marbaise
@@ -37,7 +38,8 @@ enum ParameterType {
   LogResult(MavenLog.class),
   CacheResult(MavenCacheResult.class),
   ProjectResult(MavenProjectResult.class),
-  Executor(MavenExecutor.class);
+  Executor(MavenExecutor.class),
+  MockRepository(MockRepositoryResult.class);
 
   private Class<?> klass;
 
@@ -0,0 +1,91 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Restores a project which is shared by several test cases via {@link MavenProject} to the
+ * state of its snapshot. The snapshot is the test project within {@code target/test-classes}
+ * which has been copied (incl. the last modification times) into the project directory.
+ * Only the files which have been changed, created or deleted since are touched.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote Changes are detected by comparing the size and the last modification time in
+ * milliseconds, cause the initial copy ({@code FileUtils.copyDirectory}) keeps only milliseconds
+ * while file systems like ext4 record nanoseconds. Changed files are copied instead of linked, so a build which writes a file in place can
+ * never change the snapshot.
+ */
+final class ProjectSnapshot {
+
+  private ProjectSnapshot() {
+    // intentionally empty.
+  }
+
+  /**
+   * @param snapshot The snapshot of the project.
+   * @param project The project which is restored.
+   * @return The number of files which have been restored or removed.
+   * @throws IOException in case of failure to restore the project.
+   */
+  static int restore(Path snapshot, Path project) throws IOException {
+    int restored = 0;
+    for (Path path : paths(project, Comparator.reverseOrder())) {
+      Path original = snapshot.resolve(project.relativize(path).toString());
+      if (Files.isDirectory(path)) {
+        if (!Files.isDirectory(original)) {
+          Files.delete(path);
+        }
+      } else if (!Files.isRegularFile(original)) {
+        Files.delete(path);
+        restored++;
+      }
+    }
+    for (Path original : paths(snapshot, Comparator.naturalOrder())) {
+      Path path = project.resolve(snapshot.relativize(original).toString());
+      if (Files.isDirectory(original)) {
+        Files.createDirectories(path);
+      } else if (isChanged(original, path)) {
+        Files.copy(original, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        restored++;
+      }
+    }
+    return restored;
+  }
+
+  private static boolean isChanged(Path original, Path path) throws IOException {
+    return !Files.isRegularFile(path)
+        || Files.size(original) != Files.size(path)
+        || Files.getLastModifiedTime(original).toMillis() != Files.getLastModifiedTime(path).toMillis();
+  }
+
+  private static List<Path> paths(Path directory, Comparator<Path> order) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths.filter(p -> !p.equals(directory)).sorted(order).collect(Collectors.toList());
+    }
+  }
+}
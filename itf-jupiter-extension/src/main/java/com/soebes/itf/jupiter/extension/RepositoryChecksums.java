@@ -0,0 +1,112 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The SHA-1 of the files within the repository which contains the component under test.
+ * The SHA-1 which have been recorded by the {@code itf-maven-plugin} in the manifest of the
+ * staged files ({@code .itf-manifest}) are reused, so only files which are not recorded there
+ * are read.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The format of the manifest has to be in sync with the {@code StagingManifest} of the
+ * {@code itf-maven-plugin}: destination, source, size, last modification time and SHA-1 separated
+ * by tabs where {@code -} means the SHA-1 has not been calculated.
+ */
+final class RepositoryChecksums {
+
+  static final String MANIFEST = ".itf-manifest";
+
+  private static final String UNKNOWN_SHA1 = "-";
+
+  private final Path repository;
+
+  private final Map<String, String[]> recorded;
+
+  private RepositoryChecksums(Path repository, Map<String, String[]> recorded) {
+    this.repository = repository;
+    this.recorded = recorded;
+  }
+
+  /**
+   * @param repository The repository.
+   * @return The {@link RepositoryChecksums} which contains the SHA-1 recorded in the manifest if any.
+   * @throws IOException in case of failure to read the manifest.
+   */
+  static RepositoryChecksums of(Path repository) throws IOException {
+    Map<String, String[]> recorded = new HashMap<>();
+    Path manifest = repository.resolve(MANIFEST);
+    if (Files.isRegularFile(manifest)) {
+      for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+        String[] columns = line.split("\t");
+        if (line.startsWith("#") || columns.length != 5 || UNKNOWN_SHA1.equals(columns[4])) {
+          continue;
+        }
+        recorded.put(columns[0], new String[]{columns[2], columns[4]});
+      }
+    }
+    return new RepositoryChecksums(repository, recorded);
+  }
+
+  /**
+   * @param file The file within the repository.
+   * @return The SHA-1 of the file which is read from the manifest if it has been recorded for a file of
+   * the same size or otherwise calculated.
+   * @throws IOException in case of failure to read the file.
+   */
+  String sha1(Path file) throws IOException {
+    String key = this.repository.relativize(file).toString().replace(File.separatorChar, '/');
+    String[] entry = this.recorded.get(key);
+    if (entry != null && entry[0].equals(Long.toString(Files.size(file)))) {
+      return entry[1];
+    }
+    MessageDigest digest = sha1();
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      byte[] buffer = new byte[8192];
+      for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+
+  private static MessageDigest sha1() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 not supported.", e);
+    }
+  }
+}
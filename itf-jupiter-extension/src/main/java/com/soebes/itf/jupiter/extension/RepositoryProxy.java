@@ -0,0 +1,375 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A read-only HTTP repository which is shared by all Maven executions of the JVM. It serves the
+ * {@code itf-repo} and the predefined repositories (which have the layout of a local repository) in
+ * the lazy mode (see {@link GeneratedSettings#ITF_REPOSITORY_LAZY}), so artifacts are resolved from a
+ * single server instead of each Maven execution reading them via {@code file://}.
+ * <ul>
+ *   <li>Files are sent via {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ *   directly into the socket without copying them through the JVM heap.</li>
+ *   <li>A {@code maven-metadata.xml} is served from the {@code maven-metadata-local.xml} of the repository.
+ *   The metadata is kept in a bounded cache and concurrent requests for the same metadata read the
+ *   file only once.</li>
+ * </ul>
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The server is implemented on top of a {@link ServerSocketChannel} (instead of the HTTP
+ * server of the JDK) cause only a socket channel supports the transfer of a file without copying.
+ * It supports {@code GET} and {@code HEAD} and persistent connections of HTTP/1.1.
+ */
+final class RepositoryProxy {
+
+  /**
+   * The system property which enables the proxy in the lazy mode.
+   */
+  static final String ITF_REPOSITORY_PROXY = "itf.repository.proxy";
+
+  private static final int METADATA_CACHE_SIZE = 1024;
+
+  private static final int HEADER_LIMIT = 8192;
+
+  private static final String METADATA = "maven-metadata.xml";
+
+  private static final String LOCAL_METADATA = "maven-metadata-local.xml";
+
+  private static RepositoryProxy instance;
+
+  private final ServerSocketChannel server;
+
+  private final ExecutorService executor;
+
+  private final ConcurrentMap<Path, String> roots;
+
+  private final ConcurrentMap<String, Path> ids;
+
+  private final AtomicInteger nextId;
+
+  private final ConcurrentMap<String, CompletableFuture<Optional<byte[]>>> inFlight;
+
+  private final Map<String, byte[]> metadata;
+
+  private RepositoryProxy(ServerSocketChannel server, int metadataCacheSize) {
+    this.server = server;
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "itf-repository-proxy");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.roots = new ConcurrentHashMap<>();
+    this.ids = new ConcurrentHashMap<>();
+    this.nextId = new AtomicInteger();
+    this.inFlight = new ConcurrentHashMap<>();
+    this.metadata = Collections.synchronizedMap(new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+        return size() > metadataCacheSize;
+      }
+    });
+  }
+
+  /**
+   * @return {@code true} if the proxy has been enabled via {@link #ITF_REPOSITORY_PROXY}.
+   */
+  static boolean isEnabled() {
+    return Boolean.getBoolean(ITF_REPOSITORY_PROXY);
+  }
+
+  /**
+   * @return The proxy of the JVM which is started on first usage and runs until the JVM ends.
+   * @throws IOException in case of failure to bind the server.
+   */
+  static synchronized RepositoryProxy instance() throws IOException {
+    if (instance == null) {
+      instance = start(METADATA_CACHE_SIZE);
+    }
+    return instance;
+  }
+
+  /**
+   * @param metadataCacheSize The maximum number of metadata files which are kept in memory.
+   * @return A new proxy which is bound to a free port of the loopback interface.
+   * @throws IOException in case of failure to bind the server.
+   */
+  static RepositoryProxy start(int metadataCacheSize) throws IOException {
+    ServerSocketChannel server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    RepositoryProxy proxy = new RepositoryProxy(server, metadataCacheSize);
+    proxy.executor.execute(proxy::accept);
+    return proxy;
+  }
+
+  /**
+   * @param repository The directory of a repository.
+   * @return The URL under which the proxy serves the repository.
+   */
+  URI url(File repository) {
+    Path root = repository.getAbsoluteFile().toPath().normalize();
+    String id = roots.computeIfAbsent(root, r -> {
+      String newId = "r" + nextId.getAndIncrement();
+      ids.put(newId, r);
+      return newId;
+    });
+    InetSocketAddress address = (InetSocketAddress) server.socket().getLocalSocketAddress();
+    return URI.create("http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + "/" + id + "/");
+  }
+
+  int cachedMetadata() {
+    return metadata.size();
+  }
+
+  void close() throws IOException {
+    server.close();
+    executor.shutdownNow();
+  }
+
+  private void accept() {
+    while (server.isOpen()) {
+      try {
+        SocketChannel channel = server.accept();
+        executor.execute(() -> serve(channel));
+      } catch (IOException e) {
+        // The server has been closed.
+      }
+    }
+  }
+
+  private void serve(SocketChannel channel) {
+    try (SocketChannel c = channel) {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_LIMIT);
+      boolean keepAlive = true;
+      while (keepAlive) {
+        Optional<String> head = readHead(c, buffer);
+        if (!head.isPresent()) {
+          return;
+        }
+        keepAlive = respond(c, head.get());
+      }
+    } catch (IOException e) {
+      // The client has closed the connection.
+    }
+  }
+
+  /**
+   * Reads the request line and the headers of the next request. The bytes which follow the headers
+   * are kept in the buffer for the next request.
+   */
+  private static Optional<String> readHead(SocketChannel channel, ByteBuffer buffer) throws IOException {
+    while (true) {
+      int end = indexOfEmptyLine(buffer);
+      if (end >= 0) {
+        String head = new String(buffer.array(), 0, end, StandardCharsets.ISO_8859_1);
+        buffer.flip();
+        buffer.position(end + 4);
+        buffer.compact();
+        return Optional.of(head);
+      }
+      if (!buffer.hasRemaining() || channel.read(buffer) == -1) {
+        return Optional.empty();
+      }
+    }
+  }
+
+  private static int indexOfEmptyLine(ByteBuffer buffer) {
+    byte[] bytes = buffer.array();
+    for (int i = 0; i + 3 < buffer.position(); i++) {
+      if (bytes[i] == '\r' && bytes[i + 1] == '\n' && bytes[i + 2] == '\r' && bytes[i + 3] == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return {@code true} if the connection can be used for the next request.
+   */
+  private boolean respond(SocketChannel channel, String head) throws IOException {
+    String[] lines = head.split("\r\n");
+    String[] requestLine = lines[0].split(" ");
+    if (requestLine.length != 3) {
+      send(channel, 400, 0, false);
+      return false;
+    }
+    String method = requestLine[0];
+    boolean keepAlive = requestLine[2].equals("HTTP/1.1");
+    for (int i = 1; i < lines.length; i++) {
+      if (lines[i].toLowerCase(Locale.ROOT).replace(" ", "").equals("connection:close")) {
+        keepAlive = false;
+      }
+    }
+    if (!method.equals("GET") && !method.equals("HEAD")) {
+      // The body of the request has not been read.
+      send(channel, 405, 0, false);
+      return false;
+    }
+    Optional<Path> file = resolve(requestLine[1]);
+    if (!file.isPresent()) {
+      send(channel, 404, 0, keepAlive);
+    } else if (file.get().getFileName().toString().equals(METADATA)) {
+      Optional<byte[]> content = metadata(file.get());
+      if (!content.isPresent()) {
+        send(channel, 404, 0, keepAlive);
+      } else {
+        send(channel, 200, content.get().length, keepAlive);
+        if (method.equals("GET")) {
+          write(channel, ByteBuffer.wrap(content.get()));
+        }
+      }
+    } else if (!Files.isRegularFile(file.get())) {
+      send(channel, 404, 0, keepAlive);
+    } else {
+      try (FileChannel fileChannel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+        long size = fileChannel.size();
+        send(channel, 200, size, keepAlive);
+        if (method.equals("GET")) {
+          for (long position = 0; position < size; ) {
+            position += fileChannel.transferTo(position, size - position, channel);
+          }
+        }
+      }
+    }
+    return keepAlive;
+  }
+
+  /**
+   * @param target The request target, for example {@code /r0/org/test/a/1.0/a-1.0.jar}.
+   * @return The file within the registered repository or {@link Optional#empty()} if the target
+   * does not belong to a registered repository.
+   */
+  private Optional<Path> resolve(String target) {
+    String path;
+    try {
+      path = new URI(target).getPath();
+    } catch (URISyntaxException e) {
+      return Optional.empty();
+    }
+    if (path == null) {
+      return Optional.empty();
+    }
+    String[] idAndPath = path.replaceFirst("^/+", "").split("/", 2);
+    Path root = ids.get(idAndPath[0]);
+    if (root == null || idAndPath.length != 2) {
+      return Optional.empty();
+    }
+    Path file = root.resolve(idAndPath[1]).normalize();
+    return file.startsWith(root) ? Optional.of(file) : Optional.empty();
+  }
+
+  /**
+   * @param file The requested {@code maven-metadata.xml}.
+   * @return The content of the {@code maven-metadata.xml} or the {@code maven-metadata-local.xml} of the same directory.
+   */
+  private Optional<byte[]> metadata(Path file) throws IOException {
+    Path source = Files.isRegularFile(file) ? file : file.resolveSibling(LOCAL_METADATA);
+    if (!Files.isRegularFile(source)) {
+      return Optional.empty();
+    }
+    // The last modification time is part of the key, so a changed file is never served from the cache.
+    String key = source + ":" + Files.getLastModifiedTime(source).toMillis();
+    byte[] cached = metadata.get(key);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    CompletableFuture<Optional<byte[]>> loading = new CompletableFuture<>();
+    CompletableFuture<Optional<byte[]>> existing = inFlight.putIfAbsent(key, loading);
+    if (existing != null) {
+      return join(existing);
+    }
+    try {
+      byte[] content = Files.readAllBytes(source);
+      metadata.put(key, content);
+      loading.complete(Optional.of(content));
+      return Optional.of(content);
+    } catch (IOException e) {
+      loading.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, loading);
+    }
+  }
+
+  private static Optional<byte[]> join(CompletableFuture<Optional<byte[]>> loading) throws IOException {
+    try {
+      return loading.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private static void send(SocketChannel channel, int status, long contentLength, boolean keepAlive)
+      throws IOException {
+    String response = "HTTP/1.1 " + status + " " + reason(status) + "\r\n"
+        + "Content-Length: " + contentLength + "\r\n"
+        + "Connection: " + (keepAlive ? "keep-alive" : "close") + "\r\n"
+        + "\r\n";
+    write(channel, ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1)));
+  }
+
+  private static void write(SocketChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static String reason(int status) {
+    switch (status) {
+      case 200:
+        return "OK";
+      case 400:
+        return "Bad Request";
+      case 404:
+        return "Not Found";
+      default:
+        return "Method Not Allowed";
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A cache of the results of Maven executions. The key of an entry is calculated based on
+ * everything which influences the execution: the command line (goals, options, profiles and
+ * system properties), the content of the test project, the repository which contains the
+ * component under test, the predefined repository, the Maven installation and the JDK.
+ * An entry contains the return code, the log files, the effective models and the
+ * project directory after the execution. If an entry exists the execution is replayed
+ * from the cache instead of running Maven.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The files of the repository which contains the component under test are
+ * represented by their path and SHA-1. The SHA-1 recorded by the {@code itf-maven-plugin}
+ * are reused (see {@link RepositoryChecksums}), cause the repository is usually large.
+ * The local cache ({@code .m2/repository}) is not part of an entry.
+ */
+final class ResultCache {
+
+  /**
+   * The system property which defines the directory of the cache. The cache is only used
+   * if this property is defined.
+   */
+  static final String ITF_RESULT_CACHE = "itf.result.cache";
+
+  private static final String RETURN_CODE = "return-code";
+
+  private static final String PROJECT = "project";
+
+  private static final List<String> LOG_FILES = Arrays.asList("-stdout.log", "-stderr.log",
+      "-arguments.log", "-effective-models.zip");
+
+  private final File entry;
+
+  private ResultCache(File entry) {
+    this.entry = entry;
+  }
+
+  /**
+   * @return The directory of the cache if the cache is enabled via {@link #ITF_RESULT_CACHE}.
+   */
+  static Optional<File> directory() {
+    return Optional.ofNullable(System.getProperty(ITF_RESULT_CACHE))
+        .filter(s -> !s.trim().isEmpty())
+        .map(File::new);
+  }
+
+  /**
+   * @param cacheDirectory The directory of the cache.
+   * @param executionArguments The arguments of the Maven execution.
+   * @param mavenExecutable The Maven executable.
+   * @param sourceMavenProject The test project which is copied before the execution.
+   * @param componentUnderTest The repository which contains the component under test.
+   * @param predefinedRepository The predefined repository (directory or archive) if any.
+   * @return The {@link ResultCache} for the given inputs.
+   * @throws IOException in case of failure to read one of the inputs.
+   */
+  static ResultCache of(File cacheDirectory, List<String> executionArguments, Path mavenExecutable,
+                        File sourceMavenProject, File componentUnderTest, Optional<File> predefinedRepository)
+      throws IOException {
+    MessageDigest digest = sha256();
+    String baseDirectory = DirectoryHelper.getMavenBaseDir().getAbsolutePath();
+    for (String argument : executionArguments) {
+      update(digest, "argument", argument.replace(baseDirectory, "${basedir}"));
+    }
+    update(digest, "maven", MavenLocator.installation(mavenExecutable));
+    update(digest, "java", System.getProperty("java.version") + ":" + System.getProperty("java.vendor"));
+    updateContent(digest, "project", sourceMavenProject);
+    updateRepository(digest, componentUnderTest);
+    if (predefinedRepository.isPresent()) {
+      updateContent(digest, "predefined", predefinedRepository.get());
+    }
+    return new ResultCache(new File(cacheDirectory, hex(digest.digest())));
+  }
+
+  /**
+   * Replays a cached execution by restoring the log files and the project directory.
+   *
+   * @param loggingDirectory The directory into which the log files are restored.
+   * @param prefix The prefix of the log files.
+   * @param projectDirectory The project directory which is replaced by the stored one.
+   * @return The return code of the cached execution or {@link Optional#empty()} if there is no entry.
+   * @throws IOException in case of failure to restore the entry.
+   */
+  Optional<Integer> restore(File loggingDirectory, String prefix, File projectDirectory) throws IOException {
+    File returnCode = new File(this.entry, RETURN_CODE);
+    if (!returnCode.isFile()) {
+      return Optional.empty();
+    }
+    for (String logFile : LOG_FILES) {
+      File source = new File(this.entry, logFile.substring(1));
+      Path target = new File(loggingDirectory, prefix + logFile).toPath();
+      Files.deleteIfExists(target);
+      if (source.isFile()) {
+        Files.copy(source.toPath(), target);
+      }
+    }
+    File project = new File(this.entry, PROJECT);
+    if (project.isDirectory()) {
+      FileUtils.deleteDirectory(projectDirectory);
+      FileUtils.copyDirectory(project, projectDirectory);
+    }
+    return Optional.of(Integer.parseInt(new String(Files.readAllBytes(returnCode.toPath()),
+        StandardCharsets.UTF_8).trim()));
+  }
+
+  /**
+   * Stores the result of an execution. The entry is written into a temporary directory first
+   * and moved into place afterwards, so concurrent executions never see a partial entry.
+   *
+   * @param returnCode The return code of the execution.
+   * @param loggingDirectory The directory which contains the log files.
+   * @param prefix The prefix of the log files.
+   * @param projectDirectory The project directory after the execution.
+   * @throws IOException in case of failure to write the entry.
+   */
+  void store(int returnCode, File loggingDirectory, String prefix, File projectDirectory) throws IOException {
+    File temporary = new File(this.entry.getParentFile(), this.entry.getName() + "-" + UUID.randomUUID());
+    Files.createDirectories(temporary.toPath());
+    try {
+      for (String logFile : LOG_FILES) {
+        File source = new File(loggingDirectory, prefix + logFile);
+        if (source.isFile()) {
+          Files.copy(source.toPath(), new File(temporary, logFile.substring(1)).toPath());
+        }
+      }
+      if (projectDirectory.isDirectory()) {
+        FileUtils.copyDirectory(projectDirectory, new File(temporary, PROJECT));
+      }
+      Files.write(new File(temporary, RETURN_CODE).toPath(),
+          Integer.toString(returnCode).getBytes(StandardCharsets.UTF_8));
+      if (!this.entry.exists()) {
+        Files.move(temporary.toPath(), this.entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      }
+    } catch (IOException e) {
+      if (!this.entry.exists()) {
+        throw e;
+      }
+      // Another execution has stored the same entry concurrently.
+    } finally {
+      FileUtils.deleteQuietly(temporary);
+    }
+  }
+
+  File getEntry() {
+    return this.entry;
+  }
+
+  private static void updateContent(MessageDigest digest, String key, File file) throws IOException {
+    for (Path path : files(file)) {
+      update(digest, key, relative(file, path));
+      try (InputStream inputStream = Files.newInputStream(path)) {
+        byte[] buffer = new byte[8192];
+        for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+          digest.update(buffer, 0, read);
+        }
+      }
+    }
+  }
+
+  private static void updateRepository(MessageDigest digest, File repository) throws IOException {
+    RepositoryChecksums checksums = RepositoryChecksums.of(repository.toPath());
+    for (Path path : files(repository)) {
+      if (path.getFileName().toString().startsWith(".itf-")) {
+        continue;
+      }
+      update(digest, "repository", relative(repository, path) + ":" + checksums.sha1(path));
+    }
+  }
+
+  private static List<Path> files(File file) throws IOException {
+    if (!file.exists()) {
+      return Collections.emptyList();
+    }
+    try (Stream<Path> paths = Files.walk(file.toPath())) {
+      return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static String relative(File base, Path path) {
+    return base.toPath().relativize(path).toString().replace(File.separatorChar, '/');
+  }
+
+  private static void update(MessageDigest digest, String key, Object value) {
+    digest.update((key + '=' + Objects.toString(value) + '\n').getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not supported.", e);
+    }
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder result = new StringBuilder();
+    for (byte b : bytes) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+}
@@ -21,6 +21,7 @@ package com.soebes.itf.jupiter.extension;
 
 import com.soebes.itf.jupiter.maven.MavenCacheResult;
 import com.soebes.itf.jupiter.maven.MavenExecutionResult;
+import com.soebes.itf.jupiter.maven.MavenExecutor;
 import com.soebes.itf.jupiter.maven.MavenLog;
 import com.soebes.itf.jupiter.maven.MavenProjectResult;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -65,10 +66,11 @@ final class StorageHelper {
   }
 
   void save(MavenExecutionResult result, MavenLog log, MavenCacheResult mavenCacheResult,
-            MavenProjectResult mavenProjectResult) {
+            MavenProjectResult mavenProjectResult, MavenExecutor mavenExecutor) {
     put(ParameterType.ExecutionResult + context.getUniqueId(), result);
     put(ParameterType.LogResult + context.getUniqueId(), log);
     put(ParameterType.CacheResult + context.getUniqueId(), mavenCacheResult);
     put(ParameterType.ProjectResult + context.getUniqueId(), mavenProjectResult);
+    put(ParameterType.Executor + context.getUniqueId(), mavenExecutor);
   }
 }
\ No newline at end of file
@@ -0,0 +1,374 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.soebes.itf.jupiter.maven.ProjectHelper;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The inputs of a test case which are used to select only those test cases whose inputs
+ * have been changed since their last successful execution (see {@link ChangedTestsFilter}).
+ * The inputs are the compiled test class (incl. its nested classes), the content of the test
+ * project and the artifacts within the repository of the component under test which are
+ * referenced by the test project (as parent, dependency, plugin, plugin dependency or extension,
+ * also within profiles) incl. the artifacts of the repository which are referenced by the
+ * {@code pom} files of those artifacts (transitively). The fingerprints of the successfully
+ * executed test cases are recorded in a properties file (see {@link #ITF_SELECT_FINGERPRINTS}).
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The artifacts of the repository are represented by their path and SHA-1 which is reused
+ * from the manifest of the {@code itf-maven-plugin} if possible (see {@link RepositoryChecksums}).
+ * If a {@code pom.xml} of the test project or a {@code pom} of the repository can not be read or
+ * contains coordinates with unresolved expressions, all artifacts of the repository are used.
+ * The plugin under test is referenced by all test projects, so a change of the plugin selects all
+ * test cases which use it.
+ */
+final class TestInputs {
+
+  /**
+   * The system property which enables the selection. The only supported value is {@code changed}.
+   */
+  static final String ITF_SELECT = "itf.select";
+
+  /**
+   * The system property which defines the file the fingerprints are recorded in.
+   * The default is {@code .itf/fingerprints.properties} within the base directory, so the
+   * fingerprints are kept by {@code mvn clean}.
+   */
+  static final String ITF_SELECT_FINGERPRINTS = "itf.select.fingerprints";
+
+  static final String CHANGED = "changed";
+
+  private static final String FINGERPRINTS = ".itf/fingerprints.properties";
+
+  private static final Object LOCK = new Object();
+
+  private TestInputs() {
+    // intentionally empty.
+  }
+
+  /**
+   * @return {@code true} if the selection of changed test cases is enabled via {@link #ITF_SELECT}.
+   */
+  static boolean isEnabled() {
+    return CHANGED.equals(System.getProperty(ITF_SELECT));
+  }
+
+  static File fingerprints() {
+    return Optional.ofNullable(System.getProperty(ITF_SELECT_FINGERPRINTS))
+        .map(File::new)
+        .orElseGet(() -> new File(DirectoryHelper.getMavenBaseDir(), FINGERPRINTS));
+  }
+
+  /**
+   * @param testClass The test class.
+   * @param sourceMavenProject The test project.
+   * @param componentUnderTest The repository which contains the component under test.
+   * @return The fingerprint of the inputs.
+   * @throws IOException in case of failure to read the inputs.
+   */
+  static String fingerprint(Class<?> testClass, File sourceMavenProject, File componentUnderTest)
+      throws IOException {
+    MessageDigest digest = sha256();
+    for (Path classFile : classFiles(testClass)) {
+      update(digest, "class:" + classFile.getFileName());
+      updateContent(digest, classFile);
+    }
+    Set<String> references = new TreeSet<>();
+    boolean allArtifacts = false;
+    for (Path path : files(sourceMavenProject.toPath())) {
+      update(digest, sourceMavenProject.toPath().relativize(path).toString().replace(File.separatorChar, '/'));
+      updateContent(digest, path);
+      if (!allArtifacts && path.getFileName().toString().equals("pom.xml")) {
+        allArtifacts = !addReferences(path.toFile(), references);
+      }
+    }
+    if (!allArtifacts) {
+      allArtifacts = !addTransitiveReferences(componentUnderTest.toPath(), references);
+    }
+
+    List<Path> artifacts = new ArrayList<>();
+    if (allArtifacts) {
+      artifacts.addAll(files(componentUnderTest.toPath()));
+    } else {
+      for (String reference : references) {
+        artifacts.addAll(files(componentUnderTest.toPath().resolve(reference)));
+      }
+    }
+    RepositoryChecksums checksums = RepositoryChecksums.of(componentUnderTest.toPath());
+    for (Path artifact : artifacts) {
+      if (artifact.getFileName().toString().startsWith(".itf-")) {
+        continue;
+      }
+      update(digest, componentUnderTest.toPath().relativize(artifact).toString().replace(File.separatorChar, '/')
+          + ':' + checksums.sha1(artifact));
+    }
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+
+  /**
+   * @param uniqueId The unique id of the test case.
+   * @param fingerprint The fingerprint of the successful execution.
+   * @throws IOException in case of failure to write the recorded fingerprints.
+   */
+  static void record(String uniqueId, String fingerprint) throws IOException {
+    synchronized (LOCK) {
+      Properties properties = recorded();
+      properties.setProperty(uniqueId, fingerprint);
+      File fingerprints = fingerprints();
+      Files.createDirectories(fingerprints.getAbsoluteFile().getParentFile().toPath());
+      try (OutputStream outputStream = Files.newOutputStream(fingerprints.toPath())) {
+        properties.store(outputStream, "Fingerprints of the successfully executed test cases.");
+      }
+    }
+  }
+
+  /**
+   * @return The recorded fingerprints of the successfully executed test cases by their unique id.
+   * @throws IOException in case of failure to read the recorded fingerprints.
+   */
+  static Properties recorded() throws IOException {
+    Properties properties = new Properties();
+    File fingerprints = fingerprints();
+    if (fingerprints.isFile()) {
+      try (InputStream inputStream = Files.newInputStream(fingerprints.toPath())) {
+        properties.load(inputStream);
+      }
+    }
+    return properties;
+  }
+
+  /**
+   * Adds the repository paths ({@code groupId/artifactId}) which are referenced by the given {@code pom.xml}.
+   *
+   * @return {@code false} if the references could not be determined.
+   */
+  private static boolean addReferences(File pomFile, Set<String> references) {
+    Model model;
+    try {
+      model = ProjectHelper.readProject(pomFile);
+    } catch (IllegalStateException e) {
+      return false;
+    }
+    List<String[]> coordinates = new ArrayList<>();
+    if (model.getParent() != null) {
+      coordinates.add(new String[]{model.getParent().getGroupId(), model.getParent().getArtifactId()});
+    }
+    dependencies(model.getDependencies(), model.getDependencyManagement(), coordinates);
+    build(model.getBuild(), coordinates);
+    Build build = model.getBuild();
+    if (build != null) {
+      for (Extension extension : build.getExtensions()) {
+        coordinates.add(new String[]{extension.getGroupId(), extension.getArtifactId()});
+      }
+    }
+    for (Profile profile : model.getProfiles()) {
+      dependencies(profile.getDependencies(), profile.getDependencyManagement(), coordinates);
+      build(profile.getBuild(), coordinates);
+    }
+    for (String[] coordinate : coordinates) {
+      String groupId = resolve(coordinate[0], model);
+      String artifactId = resolve(coordinate[1], model);
+      if (!isResolved(groupId) || !isResolved(artifactId)) {
+        return false;
+      }
+      references.add(groupId.replace('.', '/') + '/' + artifactId);
+    }
+    return true;
+  }
+
+  /**
+   * Adds the references of the {@code pom} files of the referenced artifacts within the repository
+   * (for example the modules of the same reactor the plugin under test depends on) until no further
+   * references are found.
+   *
+   * @return {@code false} if the references could not be determined.
+   */
+  private static boolean addTransitiveReferences(Path repository, Set<String> references) throws IOException {
+    Deque<String> pending = new ArrayDeque<>(references);
+    while (!pending.isEmpty()) {
+      for (Path path : files(repository.resolve(pending.pop()))) {
+        if (!path.getFileName().toString().endsWith(".pom")) {
+          continue;
+        }
+        Set<String> found = new TreeSet<>();
+        if (!addReferences(path.toFile(), found)) {
+          return false;
+        }
+        for (String reference : found) {
+          if (references.add(reference)) {
+            pending.push(reference);
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Resolves the properties of the model and the coordinates of the project itself which are often
+   * used to reference the modules of the same reactor.
+   */
+  private static String resolve(String value, Model model) {
+    if (value == null || !value.contains("${")) {
+      return value;
+    }
+    String groupId = model.getGroupId() != null || model.getParent() == null
+        ? model.getGroupId() : model.getParent().getGroupId();
+    String result = value;
+    for (String name : model.getProperties().stringPropertyNames()) {
+      result = result.replace("${" + name + "}", model.getProperties().getProperty(name));
+    }
+    if (groupId != null) {
+      result = result.replace("${project.groupId}", groupId).replace("${pom.groupId}", groupId);
+    }
+    if (model.getArtifactId() != null) {
+      result = result.replace("${project.artifactId}", model.getArtifactId());
+    }
+    return result;
+  }
+
+  private static boolean isResolved(String value) {
+    return value != null && !value.isEmpty() && !value.contains("${");
+  }
+
+  private static void dependencies(List<Dependency> dependencies, DependencyManagement dependencyManagement,
+                                   List<String[]> coordinates) {
+    dependencies(dependencies, coordinates);
+    if (dependencyManagement != null) {
+      dependencies(dependencyManagement.getDependencies(), coordinates);
+    }
+  }
+
+  private static void dependencies(List<Dependency> dependencies, List<String[]> coordinates) {
+    for (Dependency dependency : dependencies) {
+      coordinates.add(new String[]{dependency.getGroupId(), dependency.getArtifactId()});
+    }
+  }
+
+  private static void build(BuildBase build, List<String[]> coordinates) {
+    if (build == null) {
+      return;
+    }
+    plugins(build.getPlugins(), coordinates);
+    if (build.getPluginManagement() != null) {
+      plugins(build.getPluginManagement().getPlugins(), coordinates);
+    }
+  }
+
+  private static void plugins(List<Plugin> plugins, List<String[]> coordinates) {
+    for (Plugin plugin : plugins) {
+      coordinates.add(new String[]{plugin.getGroupId(), plugin.getArtifactId()});
+      dependencies(plugin.getDependencies(), coordinates);
+    }
+  }
+
+  /**
+   * @return The compiled test class and all classes nested within the same top level class.
+   */
+  private static List<Path> classFiles(Class<?> testClass) throws IOException {
+    Class<?> topLevelClass = testClass;
+    while (topLevelClass.getEnclosingClass() != null) {
+      topLevelClass = topLevelClass.getEnclosingClass();
+    }
+    URL classFile = topLevelClass.getResource(topLevelClass.getSimpleName() + ".class");
+    if (classFile == null || !"file".equals(classFile.getProtocol())) {
+      return Collections.emptyList();
+    }
+    Path directory;
+    try {
+      directory = Paths.get(classFile.toURI()).getParent();
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+    String name = topLevelClass.getSimpleName();
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.filter(p -> p.getFileName().toString().equals(name + ".class")
+          || p.getFileName().toString().startsWith(name + "$"))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static void updateContent(MessageDigest digest, Path path) throws IOException {
+    try (InputStream inputStream = Files.newInputStream(path)) {
+      byte[] buffer = new byte[8192];
+      for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+    }
+  }
+
+  private static List<Path> files(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return Collections.emptyList();
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update((value + '\n').getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not supported.", e);
+    }
+  }
+}
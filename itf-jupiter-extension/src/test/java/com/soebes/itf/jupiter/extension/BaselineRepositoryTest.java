@@ -0,0 +1,107 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class BaselineRepositoryTest {
+
+  /**
+   * Creates a fake {@code mvn} which appends its arguments to {@code invocations} and returns the given exit code.
+   */
+  private static Path mvn(Path directory, int exitCode) throws IOException {
+    Path mvn = Files.write(directory.resolve("mvn"), Arrays.asList("#!/bin/sh",
+        "echo \"$@\" >> " + directory.resolve("invocations"), "exit " + exitCode));
+    assertThat(mvn.toFile().setExecutable(true)).isTrue();
+    return mvn;
+  }
+
+  @Test
+  void should_be_disabled_by_default() {
+    assertThat(BaselineRepository.directory()).isEmpty();
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void should_execute_the_warm_up_build_only_once(@TempDir Path tempDir) throws Exception {
+    File baseline = tempDir.resolve("baseline").toFile();
+    Path mvn = mvn(tempDir, 0);
+
+    String argument = BaselineRepository.prepare(baseline, mvn);
+    assertThat(BaselineRepository.prepare(baseline, mvn)).isEqualTo(argument);
+
+    assertThat(argument).isEqualTo("-Dmaven.repo.local.tail=" + baseline.getAbsolutePath());
+    assertThat(Files.readAllLines(tempDir.resolve("invocations")))
+        .containsExactly("--batch-mode -Dmaven.repo.local=" + baseline.getAbsolutePath() + " install");
+    assertThat(new File(baseline, BaselineRepository.MARKER)).hasContent(MavenLocator.installation(mvn));
+    assertThat(new File(baseline, BaselineRepository.LOCK_FILE)).exists();
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void should_execute_the_warm_up_build_only_once_for_concurrent_test_cases(@TempDir Path tempDir) throws Exception {
+    File baseline = tempDir.resolve("baseline").toFile();
+    Path mvn = mvn(tempDir, 0);
+
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> prepare(baseline, mvn));
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> prepare(baseline, mvn));
+
+    assertThat(first.get(30, TimeUnit.SECONDS)).isEqualTo(second.get(30, TimeUnit.SECONDS));
+    assertThat(Files.readAllLines(tempDir.resolve("invocations"))).hasSize(1);
+  }
+
+  private static String prepare(File baseline, Path mvn) {
+    try {
+      return BaselineRepository.prepare(baseline, mvn);
+    } catch (IOException | InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Test
+  @DisabledOnOs(OS.WINDOWS)
+  void should_fail_if_the_warm_up_build_fails(@TempDir Path tempDir) throws IOException {
+    File baseline = tempDir.resolve("baseline").toFile();
+    Path mvn = mvn(tempDir, 1);
+
+    assertThatExceptionOfType(ExtensionConfigurationException.class)
+        .isThrownBy(() -> BaselineRepository.prepare(baseline, mvn))
+        .withMessageContaining(baseline.toString());
+    assertThat(new File(baseline, BaselineRepository.MARKER)).doesNotExist();
+  }
+}
@@ -0,0 +1,123 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+@DisabledOnOs(OS.WINDOWS)
+class BlobStoreTest {
+
+  private Path tempDir;
+
+  private BlobStore blobStore;
+
+  private static void project(Path project, String pom) throws IOException {
+    Files.createDirectories(project.resolve("src/main/java"));
+    Files.createDirectories(project.resolve("src/test/java"));
+    Files.write(project.resolve("src/main/java/Fraction.java"), "class Fraction {}".getBytes());
+    Files.write(project.resolve("pom.xml"), pom.getBytes());
+  }
+
+  @BeforeEach
+  void beforeEach(@TempDir Path tempDir) throws IOException {
+    this.tempDir = tempDir;
+    this.blobStore = new BlobStore(tempDir.resolve("blobs"));
+    project(tempDir.resolve("goals/project"), "<project>goals</project>");
+    project(tempDir.resolve("profiles/project"), "<project>profiles</project>");
+  }
+
+  private long blobs() throws IOException {
+    try (Stream<Path> paths = Files.walk(tempDir.resolve("blobs"))) {
+      return paths.filter(Files::isRegularFile).count();
+    }
+  }
+
+  @Test
+  void should_store_identical_files_only_once() throws IOException {
+    Path goals = tempDir.resolve("it/goals");
+    Path profiles = tempDir.resolve("it/profiles");
+
+    assertThat(blobStore.copyDirectory(tempDir.resolve("goals/project"), goals)).isEqualTo(2);
+    assertThat(blobStore.copyDirectory(tempDir.resolve("profiles/project"), profiles)).isEqualTo(2);
+
+    assertThat(blobs()).isEqualTo(3);
+    assertThat(Files.isSameFile(goals.resolve("src/main/java/Fraction.java"),
+        profiles.resolve("src/main/java/Fraction.java"))).isTrue();
+    assertThat(goals.resolve("pom.xml")).hasContent("<project>goals</project>");
+    assertThat(profiles.resolve("pom.xml")).hasContent("<project>profiles</project>");
+    assertThat(goals.resolve("src/test/java")).isDirectory();
+  }
+
+  @Test
+  void should_not_allow_to_change_a_shared_file_in_place() throws IOException {
+    Path goals = tempDir.resolve("it/goals");
+    blobStore.copyDirectory(tempDir.resolve("goals/project"), goals);
+
+    assertThat(Files.getPosixFilePermissions(goals.resolve("pom.xml"))).doesNotContain(PosixFilePermission.OWNER_WRITE);
+    assertThat(tempDir.resolve("goals/project/pom.xml")).hasContent("<project>goals</project>");
+  }
+
+  @Test
+  void should_be_disabled_by_default() {
+    assertThat(BlobStore.isEnabled()).isFalse();
+  }
+
+  @Test
+  void should_replace_a_blob_which_has_been_changed_in_place() throws IOException {
+    Path blob = blobStore.store(tempDir.resolve("goals/project/pom.xml"));
+    assertThat(blob.toFile().setWritable(true)).isTrue();
+    Files.write(blob, "<project>changed</project>".getBytes());
+
+    blobStore.copyDirectory(tempDir.resolve("goals/project"), tempDir.resolve("it/goals"));
+
+    assertThat(tempDir.resolve("it/goals/pom.xml")).hasContent("<project>goals</project>");
+    assertThat(blob).hasContent("<project>goals</project>");
+  }
+
+  @Test
+  void should_copy_a_project_with_its_modification_times() throws IOException {
+    Path source = tempDir.resolve("goals/project");
+    Path target = tempDir.resolve("it/goals");
+
+    BlobStore.copyOnWrite(source, target);
+
+    assertThat(target.resolve("pom.xml")).hasContent("<project>goals</project>");
+    assertThat(target.resolve("src/test/java")).isDirectory();
+    // The precision of the copied modification times depends on the platform, so milliseconds are compared.
+    assertThat(Files.getLastModifiedTime(target.resolve("pom.xml")).toMillis())
+        .isEqualTo(Files.getLastModifiedTime(source.resolve("pom.xml")).toMillis());
+    assertThat(Files.isSameFile(source.resolve("pom.xml"), target.resolve("pom.xml"))).isFalse();
+  }
+}
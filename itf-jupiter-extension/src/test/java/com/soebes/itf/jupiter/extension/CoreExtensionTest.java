@@ -0,0 +1,50 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class CoreExtensionTest {
+
+  private static final File LOCATION = new File("itf-core-extension.jar");
+
+  @Test
+  void should_only_contain_the_core_extension_if_no_class_path_is_given() {
+    assertThat(CoreExtension.classPath(LOCATION, Collections.singletonList("--batch-mode")))
+        .isEqualTo("-Dmaven.ext.class.path=" + LOCATION.getAbsolutePath());
+  }
+
+  @Test
+  void should_keep_the_given_class_path() {
+    assertThat(CoreExtension.classPath(LOCATION, Arrays.asList("-Dmaven.ext.class.path=a.jar", "-D",
+        "maven.ext.class.path=b.jar", "package")))
+        .isEqualTo("-Dmaven.ext.class.path=a.jar" + File.pathSeparator + "b.jar" + File.pathSeparator
+            + LOCATION.getAbsolutePath());
+  }
+}
@@ -0,0 +1,93 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class GeneratedSettingsTest {
+
+  @Test
+  void should_not_be_lazy_by_default() {
+    assertThat(GeneratedSettings.isLazy()).isFalse();
+  }
+
+  @Test
+  void should_define_the_repositories_in_the_given_order(@TempDir Path tempDir) throws IOException {
+    Path settings = tempDir.resolve("mvn-settings.xml");
+    URI predefined = GeneratedSettings.fileUrl(tempDir.resolve(".predefined-repo").toFile());
+    URI itfRepo = GeneratedSettings.fileUrl(tempDir.resolve("itf-repo").toFile());
+
+    GeneratedSettings generatedSettings = new GeneratedSettings()
+        .repository("itf-predefined-repo", predefined)
+        .repository("itf-repo", itfRepo);
+
+    assertThat(generatedSettings.isEmpty()).isFalse();
+    assertThat(generatedSettings.write(settings)).containsExactly("--global-settings", settings.toString());
+    assertThat(predefined.getScheme()).isEqualTo("file");
+
+    String content = new String(Files.readAllBytes(settings), StandardCharsets.UTF_8);
+    assertThat(content)
+        .containsSubsequence("<repositories>", "<id>itf-predefined-repo</id>", "<url>" + predefined + "</url>",
+            "<id>itf-repo</id>", "<url>" + itfRepo + "</url>", "</repositories>")
+        .containsSubsequence("<pluginRepositories>", "<id>itf-predefined-repo</id>", "<id>itf-repo</id>",
+            "</pluginRepositories>")
+        .contains("<activeProfile>itf-generated</activeProfile>");
+  }
+
+  @Test
+  void should_copy_mirrors_proxies_and_servers_of_the_global_settings(@TempDir Path tempDir) throws IOException {
+    Path globalSettings = Files.write(tempDir.resolve("global-settings.xml"), ("<settings>"
+        + "<mirrors><mirror><id>corporate</id><mirrorOf>external:*</mirrorOf></mirror></mirrors>"
+        + "<proxies><proxy><id>proxy</id><host>proxy.example.com</host></proxy></proxies>"
+        + "<servers><server><id>corporate</id><username>user</username></server></servers>"
+        + "<pluginGroups><pluginGroup>org.example</pluginGroup></pluginGroups>"
+        + "</settings>").getBytes(StandardCharsets.UTF_8));
+    Path settings = tempDir.resolve("mvn-settings.xml");
+
+    new GeneratedSettings().repository("itf-repo", GeneratedSettings.fileUrl(tempDir.toFile()))
+        .write(settings, Optional.of(globalSettings));
+
+    String content = new String(Files.readAllBytes(settings), StandardCharsets.UTF_8);
+    assertThat(content)
+        .contains("<mirror><id>corporate</id><mirrorOf>external:*</mirrorOf></mirror>")
+        .contains("<host>proxy.example.com</host>")
+        .contains("<username>user</username>")
+        .containsSubsequence("</servers>", "<profiles>", "<id>itf-generated</id>")
+        .doesNotContain("pluginGroup");
+  }
+
+  @Test
+  void should_be_empty_without_repositories() {
+    assertThat(new GeneratedSettings().isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,115 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class MavenContinueFromOrdererTest {
+
+  static class Chain {
+
+    @MavenContinueFrom("first")
+    void second() {
+    }
+
+    @MavenContinueFrom("second")
+    void third() {
+    }
+
+    void first() {
+    }
+
+    void independent() {
+    }
+
+    @MavenContinueFrom("does_not_exist")
+    void unknown() {
+    }
+
+    @MavenContinueFrom("cycle_b")
+    void cycle_a() {
+    }
+
+    @MavenContinueFrom("cycle_a")
+    void cycle_b() {
+    }
+  }
+
+  private static Method method(String name) throws NoSuchMethodException {
+    return Chain.class.getDeclaredMethod(name);
+  }
+
+  private static MethodDescriptor descriptor(String name) throws NoSuchMethodException {
+    Method method = method(name);
+    MethodDescriptor methodDescriptor = mock(MethodDescriptor.class);
+    when(methodDescriptor.getMethod()).thenReturn(method);
+    when(methodDescriptor.findAnnotation(MavenContinueFrom.class))
+        .thenReturn(Optional.ofNullable(method.getAnnotation(MavenContinueFrom.class)));
+    return methodDescriptor;
+  }
+
+  @Test
+  void should_order_each_step_after_the_step_it_continues_from() throws NoSuchMethodException {
+    List<MethodDescriptor> methodDescriptors = new ArrayList<>();
+    for (String name : new String[]{"third", "independent", "second", "first"}) {
+      methodDescriptors.add(descriptor(name));
+    }
+    MethodOrdererContext context = mock(MethodOrdererContext.class);
+    when(context.getMethodDescriptors()).thenAnswer(invocation -> methodDescriptors);
+
+    new MavenContinueFromOrderer().orderMethods(context);
+
+    assertThat(methodDescriptors.stream().map(m -> m.getMethod().getName()).collect(Collectors.toList()))
+        .containsExactly("first", "second", "third", "independent");
+  }
+
+  @Test
+  void should_find_the_first_step_of_a_chain() throws NoSuchMethodException {
+    assertThat(AnnotationHelper.firstStepOf(method("third"))).isEqualTo(method("first"));
+    assertThat(AnnotationHelper.firstStepOf(method("independent"))).isEqualTo(method("independent"));
+  }
+
+  @Test
+  void should_fail_for_unknown_steps_and_cycles() {
+    assertThatExceptionOfType(ExtensionConfigurationException.class)
+        .isThrownBy(() -> AnnotationHelper.firstStepOf(method("unknown")))
+        .withMessageContaining("does_not_exist");
+    assertThatExceptionOfType(ExtensionConfigurationException.class)
+        .isThrownBy(() -> AnnotationHelper.firstStepOf(method("cycle_a")))
+        .withMessageContaining("cycle");
+  }
+}
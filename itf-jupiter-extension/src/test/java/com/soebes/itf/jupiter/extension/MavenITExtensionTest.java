@@ -0,0 +1,110 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.TestAbortedException;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class MavenITExtensionTest {
+
+  static class Chain {
+
+    void first() {
+    }
+
+    @MavenContinueFrom("first")
+    void second() {
+    }
+  }
+
+  private final Map<Object, Object> values = new HashMap<>();
+
+  private ExtensionContext classContext;
+
+  @BeforeEach
+  void beforeEach() {
+    ExtensionContext.Store store = mock(ExtensionContext.Store.class);
+    when(store.get(any(), eq(Boolean.class))).thenAnswer(i -> values.get(i.getArgument(0)));
+    when(store.get(any())).thenAnswer(i -> values.get(i.getArgument(0)));
+    doAnswer(i -> values.put(i.getArgument(0), i.getArgument(1))).when(store).put(any(), any());
+    classContext = mock(ExtensionContext.class);
+    when(classContext.getTestMethod()).thenReturn(Optional.empty());
+    when(classContext.getStore(any())).thenReturn(store);
+  }
+
+  private ExtensionContext methodContext(Method method, Optional<Throwable> executionException) {
+    ExtensionContext context = mock(ExtensionContext.class);
+    when(context.getTestMethod()).thenReturn(Optional.of(method));
+    when(context.getParent()).thenReturn(Optional.of(classContext));
+    when(context.getUniqueId()).thenReturn(method.getName());
+    when(context.getStore(any())).thenReturn(mock(ExtensionContext.Store.class));
+    when(context.getExecutionException()).thenReturn(executionException);
+    return context;
+  }
+
+  @Test
+  void should_fail_if_the_previous_step_has_not_been_executed() throws NoSuchMethodException {
+    Method second = Chain.class.getDeclaredMethod("second");
+
+    assertThatExceptionOfType(ExtensionConfigurationException.class)
+        .isThrownBy(() -> MavenITExtension.verifyPreviousStep(methodContext(second, Optional.empty()), second))
+        .withMessage("The test method first has to be executed before second.");
+  }
+
+  @Test
+  void should_abort_if_the_previous_step_has_failed() throws Exception {
+    Method first = Chain.class.getDeclaredMethod("first");
+    Method second = Chain.class.getDeclaredMethod("second");
+    new MavenITExtension().afterTestExecution(methodContext(first, Optional.of(new AssertionError())));
+
+    assertThatExceptionOfType(TestAbortedException.class)
+        .isThrownBy(() -> MavenITExtension.verifyPreviousStep(methodContext(second, Optional.empty()), second))
+        .withMessage("The test method first has failed, so second is not executed.");
+  }
+
+  @Test
+  void should_continue_if_the_previous_step_has_been_successful() throws Exception {
+    Method first = Chain.class.getDeclaredMethod("first");
+    Method second = Chain.class.getDeclaredMethod("second");
+    new MavenITExtension().afterTestExecution(methodContext(first, Optional.empty()));
+
+    assertThatCode(() -> MavenITExtension.verifyPreviousStep(methodContext(second, Optional.empty()), second))
+        .doesNotThrowAnyException();
+  }
+}
@@ -347,5 +347,24 @@ class MavenLocatorTest {
 
   }
 
+  @Test
+  @DisplayName("installation resolves links and contains the version of the installation")
+  void installation_resolves_links_and_contains_the_version() throws IOException {
+    try (FileSystem fs = MemoryFileSystemBuilder.newLinux().build("InstallationSystem")) {
+      create(fs, "/tools/maven-3.8.1/bin", "mvn");
+      create(fs, "/tools/maven-3.8.1/lib", "maven-core-3.8.1.jar");
+      create(fs, "/tools/maven-3.9.0/bin", "mvn");
+      create(fs, "/tools/maven-3.9.0/lib", "maven-core-3.9.0.jar");
+      Path mvn = Files.createDirectories(fs.getPath("/usr/bin")).resolve("mvn");
+      Files.createSymbolicLink(mvn, fs.getPath("/tools/maven-3.8.1/bin/mvn"));
+
+      String installation = MavenLocator.installation(mvn);
+      assertThat(installation).isEqualTo("/tools/maven-3.8.1/bin/mvn:3.8.1");
+
+      Files.delete(mvn);
+      Files.createSymbolicLink(mvn, fs.getPath("/tools/maven-3.9.0/bin/mvn"));
+      assertThat(MavenLocator.installation(mvn)).isEqualTo("/tools/maven-3.9.0/bin/mvn:3.9.0");
+    }
+  }
 
-}
\ No newline at end of file
+}
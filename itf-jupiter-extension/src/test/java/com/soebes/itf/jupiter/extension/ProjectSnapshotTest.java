@@ -0,0 +1,71 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ProjectSnapshotTest {
+
+  private Path snapshot;
+
+  private Path project;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path tempDir) throws IOException {
+    snapshot = Files.createDirectories(tempDir.resolve("snapshot/src/main/java"));
+    Files.write(snapshot.resolve("App.java"), "class App {}".getBytes());
+    snapshot = tempDir.resolve("snapshot");
+    Files.write(snapshot.resolve("pom.xml"), "<project/>".getBytes());
+    project = tempDir.resolve("project");
+    FileUtils.copyDirectory(snapshot.toFile(), project.toFile());
+  }
+
+  @Test
+  void should_not_restore_anything_if_nothing_has_been_changed() throws IOException {
+    assertThat(ProjectSnapshot.restore(snapshot, project)).isZero();
+  }
+
+  @Test
+  void should_restore_changed_and_deleted_files_and_remove_created_ones() throws IOException {
+    Files.write(project.resolve("pom.xml"), "<project>changed</project>".getBytes());
+    Files.delete(project.resolve("src/main/java/App.java"));
+    Files.createDirectories(project.resolve("target/classes"));
+    Files.write(project.resolve("target/classes/App.class"), "class".getBytes());
+
+    assertThat(ProjectSnapshot.restore(snapshot, project)).isEqualTo(3);
+
+    assertThat(project.resolve("pom.xml")).hasContent("<project/>");
+    assertThat(project.resolve("src/main/java/App.java")).hasContent("class App {}");
+    assertThat(project.resolve("target")).doesNotExist();
+    assertThat(snapshot.resolve("pom.xml")).hasContent("<project/>");
+  }
+}
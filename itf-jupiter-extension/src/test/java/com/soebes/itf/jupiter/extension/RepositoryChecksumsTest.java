@@ -0,0 +1,63 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class RepositoryChecksumsTest {
+
+  private static final String SHA1_OF_JAR = "f92e777f4341930bad9b2422283c4680d00dbc06";
+
+  @Test
+  void should_calculate_the_sha1_of_files_which_are_not_recorded(@TempDir Path repository) throws IOException {
+    Path jar = Files.write(Files.createDirectories(repository.resolve("g/a/1.0")).resolve("a-1.0.jar"),
+        "jar".getBytes());
+
+    assertThat(RepositoryChecksums.of(repository).sha1(jar)).isEqualTo(SHA1_OF_JAR);
+  }
+
+  @Test
+  void should_use_the_recorded_sha1_of_the_manifest(@TempDir Path repository) throws IOException {
+    Path jar = Files.write(Files.createDirectories(repository.resolve("g/a/1.0")).resolve("a-1.0.jar"),
+        "jar".getBytes());
+    Path pom = Files.write(repository.resolve("g/a/1.0/a-1.0.pom"), "pom".getBytes());
+    Files.write(repository.resolve(RepositoryChecksums.MANIFEST), ("# destination, source, size, last modified, sha1\n"
+        + "g/a/1.0/a-1.0.jar\t/m2/a-1.0.jar\t3\t1\trecorded\n"
+        + "g/a/1.0/a-1.0.pom\t/m2/a-1.0.pom\t3\t1\t-\n").getBytes());
+
+    RepositoryChecksums checksums = RepositoryChecksums.of(repository);
+
+    assertThat(checksums.sha1(jar)).isEqualTo("recorded");
+    assertThat(checksums.sha1(pom)).isNotEqualTo("-").hasSize(40);
+
+    Files.write(jar, "changed".getBytes());
+    assertThat(checksums.sha1(jar)).isNotEqualTo("recorded");
+  }
+}
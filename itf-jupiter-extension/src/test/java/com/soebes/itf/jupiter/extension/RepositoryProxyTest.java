@@ -0,0 +1,118 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class RepositoryProxyTest {
+
+  private RepositoryProxy proxy;
+
+  private Path repository;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path tempDir) throws IOException {
+    repository = tempDir.resolve("itf-repo");
+    Files.createDirectories(repository.resolve("org/test/a/1.0"));
+    Files.write(repository.resolve("org/test/a/1.0/a-1.0.jar"), new byte[100_000]);
+    Files.write(repository.resolve("org/test/a/maven-metadata-local.xml"), "<metadata/>".getBytes());
+    Files.write(tempDir.resolve("secret"), "secret".getBytes());
+    proxy = RepositoryProxy.start(1);
+  }
+
+  @AfterEach
+  void afterEach() throws IOException {
+    proxy.close();
+  }
+
+  private static HttpURLConnection connect(URI uri, String method) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+    connection.setRequestMethod(method);
+    return connection;
+  }
+
+  private static byte[] content(HttpURLConnection connection) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try (InputStream inputStream = connection.getInputStream()) {
+      byte[] buffer = new byte[8192];
+      for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+        content.write(buffer, 0, read);
+      }
+    }
+    return content.toByteArray();
+  }
+
+  @Test
+  void should_use_the_same_url_for_the_same_repository(@TempDir Path other) {
+    URI url = proxy.url(repository.toFile());
+
+    assertThat(proxy.url(repository.toFile())).isEqualTo(url);
+    assertThat(proxy.url(other.toFile())).isNotEqualTo(url);
+    assertThat(url.getHost()).isEqualTo("127.0.0.1");
+  }
+
+  @Test
+  void should_serve_the_files_of_the_repository() throws IOException {
+    URI url = proxy.url(repository.toFile());
+
+    HttpURLConnection get = connect(url.resolve("org/test/a/1.0/a-1.0.jar"), "GET");
+    assertThat(get.getResponseCode()).isEqualTo(200);
+    assertThat(content(get)).hasSize(100_000);
+
+    HttpURLConnection head = connect(url.resolve("org/test/a/1.0/a-1.0.jar"), "HEAD");
+    assertThat(head.getResponseCode()).isEqualTo(200);
+    assertThat(head.getContentLengthLong()).isEqualTo(100_000);
+
+    assertThat(connect(url.resolve("org/test/a/1.0/a-1.0.pom"), "GET").getResponseCode()).isEqualTo(404);
+    assertThat(connect(URI.create(url + "%2e%2e/secret"), "GET").getResponseCode()).isEqualTo(404);
+    assertThat(connect(url.resolve("org/test/a/1.0/a-1.0.jar"), "DELETE").getResponseCode()).isEqualTo(405);
+  }
+
+  @Test
+  void should_serve_the_local_metadata_and_keep_it_in_a_bounded_cache() throws IOException {
+    Files.write(repository.resolve("org/test/a/1.0/maven-metadata-local.xml"), "<metadata>1.0</metadata>".getBytes());
+    URI url = proxy.url(repository.toFile());
+
+    HttpURLConnection metadata = connect(url.resolve("org/test/a/maven-metadata.xml"), "GET");
+    assertThat(metadata.getResponseCode()).isEqualTo(200);
+    assertThat(new String(content(metadata))).isEqualTo("<metadata/>");
+    assertThat(proxy.cachedMetadata()).isEqualTo(1);
+
+    HttpURLConnection versionMetadata = connect(url.resolve("org/test/a/1.0/maven-metadata.xml"), "GET");
+    assertThat(new String(content(versionMetadata))).isEqualTo("<metadata>1.0</metadata>");
+    assertThat(proxy.cachedMetadata()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,128 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ResultCacheTest {
+
+  private static final Path MVN = Paths.get("/usr/bin/mvn");
+
+  private File cache;
+
+  private File project;
+
+  private File repository;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path tempDir) throws IOException {
+    cache = tempDir.resolve("cache").toFile();
+    project = Files.createDirectories(tempDir.resolve("resources-its/project")).toFile();
+    Files.write(project.toPath().resolve("pom.xml"), "<project/>".getBytes());
+    repository = Files.createDirectories(tempDir.resolve("itf-repo")).toFile();
+    Files.write(repository.toPath().resolve("a-1.0.jar"), "jar".getBytes());
+  }
+
+  private ResultCache resultCache(String... arguments) throws IOException {
+    return ResultCache.of(cache, Arrays.asList(arguments), MVN, project, repository, Optional.empty());
+  }
+
+  @Test
+  void should_use_the_same_entry_for_the_same_inputs() throws IOException {
+    assertThat(resultCache("-B", "package").getEntry()).isEqualTo(resultCache("-B", "package").getEntry());
+  }
+
+  @Test
+  void should_use_another_entry_if_the_arguments_or_the_project_have_been_changed() throws IOException {
+    File entry = resultCache("-B", "package").getEntry();
+
+    assertThat(resultCache("-B", "verify").getEntry()).isNotEqualTo(entry);
+
+    Files.write(project.toPath().resolve("pom.xml"), "<project></project>".getBytes());
+    assertThat(resultCache("-B", "package").getEntry()).isNotEqualTo(entry);
+  }
+
+  @Test
+  void should_ignore_the_files_written_by_the_itf_maven_plugin() throws IOException {
+    File entry = resultCache("package").getEntry();
+
+    Files.write(repository.toPath().resolve(".itf-manifest"), "manifest".getBytes());
+
+    assertThat(resultCache("package").getEntry()).isEqualTo(entry);
+  }
+
+  @Test
+  void should_use_the_same_entry_if_the_repository_has_been_staged_again() throws IOException {
+    File entry = resultCache("package").getEntry();
+
+    Path jar = repository.toPath().resolve("a-1.0.jar");
+    Files.delete(jar);
+    Files.write(jar, "jar".getBytes());
+    Files.setLastModifiedTime(jar, FileTime.fromMillis(0));
+    assertThat(resultCache("package").getEntry()).isEqualTo(entry);
+
+    Files.write(jar, "new".getBytes());
+    assertThat(resultCache("package").getEntry()).isNotEqualTo(entry);
+  }
+
+  @Test
+  void should_replay_a_stored_execution(@TempDir Path tempDir) throws IOException {
+    File logs = tempDir.toFile();
+    File projectDirectory = Files.createDirectories(tempDir.resolve("project/target")).getParent().toFile();
+    Files.write(tempDir.resolve("mvn-stdout.log"), "BUILD FAILURE".getBytes());
+    Files.write(tempDir.resolve("project/target/a.jar"), "jar".getBytes());
+    Files.write(tempDir.resolve("project/pom.xml"), "released".getBytes());
+
+    ResultCache resultCache = resultCache("package");
+    assertThat(resultCache.restore(logs, "mvn", projectDirectory)).isEmpty();
+    resultCache.store(1, logs, "mvn", projectDirectory);
+
+    Files.delete(tempDir.resolve("mvn-stdout.log"));
+    Files.delete(tempDir.resolve("project/target/a.jar"));
+    Files.write(tempDir.resolve("project/pom.xml"), "original".getBytes());
+
+    assertThat(resultCache("package").restore(logs, "mvn", projectDirectory)).contains(1);
+    assertThat(tempDir.resolve("mvn-stdout.log")).hasContent("BUILD FAILURE");
+    assertThat(tempDir.resolve("project/target/a.jar")).hasContent("jar");
+    assertThat(tempDir.resolve("project/pom.xml")).hasContent("released");
+    assertThat(cache.list()).containsExactly(resultCache.getEntry().getName());
+  }
+
+  @Test
+  void should_be_disabled_by_default() {
+    assertThat(ResultCache.directory()).isEmpty();
+  }
+}
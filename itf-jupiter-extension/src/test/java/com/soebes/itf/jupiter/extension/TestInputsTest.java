@@ -0,0 +1,154 @@
+package com.soebes.itf.jupiter.extension;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class TestInputsTest {
+
+  private static final String POM = "<project><modelVersion>4.0.0</modelVersion>"
+      + "<groupId>org.it</groupId><artifactId>it</artifactId><version>1.0</version>"
+      + "<build><plugins><plugin><groupId>org.plugin</groupId><artifactId>under-test</artifactId>"
+      + "<version>1.0</version></plugin></plugins></build></project>";
+
+  private File project;
+
+  private File repository;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path tempDir) throws IOException {
+    project = Files.createDirectories(tempDir.resolve("project")).toFile();
+    Files.write(project.toPath().resolve("pom.xml"), POM.getBytes());
+    repository = tempDir.resolve("itf-repo").toFile();
+    Files.createDirectories(repository.toPath().resolve("org/plugin/under-test/1.0"));
+    Files.write(repository.toPath().resolve("org/plugin/under-test/1.0/under-test-1.0.jar"), "jar".getBytes());
+    Files.createDirectories(repository.toPath().resolve("org/other/other/1.0"));
+    Files.write(repository.toPath().resolve("org/other/other/1.0/other-1.0.jar"), "jar".getBytes());
+    System.setProperty(TestInputs.ITF_SELECT_FINGERPRINTS, tempDir.resolve("fingerprints.properties").toString());
+  }
+
+  @AfterEach
+  void afterEach() {
+    System.clearProperty(TestInputs.ITF_SELECT_FINGERPRINTS);
+  }
+
+  @Test
+  void should_only_depend_on_the_project_and_the_referenced_artifacts() throws IOException {
+    String fingerprint = TestInputs.fingerprint(TestInputsTest.class, project, repository);
+
+    Files.write(repository.toPath().resolve("org/other/other/1.0/other-1.0.jar"), "changed".getBytes());
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isEqualTo(fingerprint);
+
+    Files.write(repository.toPath().resolve("org/plugin/under-test/1.0/under-test-1.0.jar"), "changed".getBytes());
+    String changedPlugin = TestInputs.fingerprint(TestInputsTest.class, project, repository);
+    assertThat(changedPlugin).isNotEqualTo(fingerprint);
+
+    Files.write(project.toPath().resolve("src.txt"), "new".getBytes());
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isNotEqualTo(changedPlugin);
+  }
+
+  @Test
+  void should_not_depend_on_the_modification_time_of_the_artifacts() throws IOException {
+    String fingerprint = TestInputs.fingerprint(TestInputsTest.class, project, repository);
+
+    Files.setLastModifiedTime(repository.toPath().resolve("org/plugin/under-test/1.0/under-test-1.0.jar"),
+        FileTime.fromMillis(0));
+    Files.write(repository.toPath().resolve(".itf-manifest"), "manifest".getBytes());
+
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isEqualTo(fingerprint);
+  }
+
+  @Test
+  void should_depend_on_the_artifacts_referenced_within_profiles() throws IOException {
+    Files.write(project.toPath().resolve("pom.xml"), POM.replace("</project>",
+        "<profiles><profile><id>other</id><dependencies><dependency><groupId>org.other</groupId>"
+            + "<artifactId>other</artifactId><version>1.0</version></dependency></dependencies>"
+            + "</profile></profiles></project>").getBytes());
+    String fingerprint = TestInputs.fingerprint(TestInputsTest.class, project, repository);
+
+    Files.write(repository.toPath().resolve("org/other/other/1.0/other-1.0.jar"), "changed".getBytes());
+
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void should_depend_on_the_artifacts_referenced_by_the_referenced_artifacts() throws IOException {
+    Files.write(repository.toPath().resolve("org/plugin/under-test/1.0/under-test-1.0.pom"),
+        ("<project><modelVersion>4.0.0</modelVersion><groupId>org.plugin</groupId>"
+            + "<artifactId>under-test</artifactId><version>1.0</version><dependencies><dependency>"
+            + "<groupId>${project.groupId}</groupId><artifactId>shared</artifactId><version>1.0</version>"
+            + "</dependency></dependencies></project>").getBytes());
+    Files.createDirectories(repository.toPath().resolve("org/plugin/shared/1.0"));
+    Files.write(repository.toPath().resolve("org/plugin/shared/1.0/shared-1.0.jar"), "jar".getBytes());
+    String fingerprint = TestInputs.fingerprint(TestInputsTest.class, project, repository);
+
+    Files.write(repository.toPath().resolve("org/other/other/1.0/other-1.0.jar"), "changed".getBytes());
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isEqualTo(fingerprint);
+
+    Files.write(repository.toPath().resolve("org/plugin/shared/1.0/shared-1.0.jar"), "changed".getBytes());
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void should_depend_on_the_test_class() throws IOException {
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository))
+        .isEqualTo(TestInputs.fingerprint(Inner.class, project, repository))
+        .isNotEqualTo(TestInputs.fingerprint(TestInputs.class, project, repository));
+  }
+
+  @Test
+  void should_use_all_artifacts_if_the_pom_can_not_be_read() throws IOException {
+    Files.write(project.toPath().resolve("pom.xml"), "<project>".getBytes());
+    String fingerprint = TestInputs.fingerprint(TestInputsTest.class, project, repository);
+
+    Files.write(repository.toPath().resolve("org/other/other/1.0/other-1.0.jar"), "changed".getBytes());
+
+    assertThat(TestInputs.fingerprint(TestInputsTest.class, project, repository)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void should_record_the_fingerprints() throws IOException {
+    assertThat(TestInputs.recorded()).isEmpty();
+
+    TestInputs.record("[engine:junit-jupiter]/[class:org.it.FirstIT]/[method:first()]", "abc");
+    TestInputs.record("[engine:junit-jupiter]/[class:org.it.FirstIT]/[method:second()]", "def");
+
+    assertThat(TestInputs.recorded())
+        .containsEntry("[engine:junit-jupiter]/[class:org.it.FirstIT]/[method:first()]", "abc")
+        .containsEntry("[engine:junit-jupiter]/[class:org.it.FirstIT]/[method:second()]", "def");
+  }
+
+  static class Inner {
+  }
+}
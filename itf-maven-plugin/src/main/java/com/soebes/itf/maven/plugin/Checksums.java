@@ -0,0 +1,219 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * The SHA-1 and SHA-256 checksums of a file which are calculated while the file is read
+ * or lazily on first access (see {@link #lazy(File)}).
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class Checksums {
+
+  static final String SHA1_EXTENSION = ".sha1";
+
+  static final String SHA256_EXTENSION = ".sha256";
+
+  private final MessageDigest sha1;
+
+  private final MessageDigest sha256;
+
+  private String sha1Value;
+
+  private String sha256Value;
+
+  /**
+   * The file which is read on first access or {@code null} if the checksums are calculated while reading.
+   */
+  private File file;
+
+  private Checksums() {
+    this.sha1 = messageDigest("SHA-1");
+    this.sha256 = messageDigest("SHA-256");
+  }
+
+  private static MessageDigest messageDigest(String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(algorithm + " not supported.", e);
+    }
+  }
+
+  /**
+   * @return New {@link Checksums} which are calculated by reading from {@link #digesting(InputStream)}.
+   */
+  static Checksums create() {
+    return new Checksums();
+  }
+
+  /**
+   * Reads the given file once to calculate the checksums.
+   *
+   * @param file The file.
+   * @return The {@link Checksums} of the file.
+   * @throws IOException in case of failure to read the file.
+   */
+  static Checksums of(File file) throws IOException {
+    Checksums checksums = lazy(file);
+    checksums.calculate();
+    return checksums;
+  }
+
+  /**
+   * @param file The file.
+   * @return The {@link Checksums} of the file which is only read on first access of a checksum.
+   */
+  static Checksums lazy(File file) {
+    Checksums checksums = new Checksums();
+    checksums.file = file;
+    return checksums;
+  }
+
+  /**
+   * @return {@code true} if the checksums are available without reading the file.
+   */
+  synchronized boolean isCalculated() {
+    return this.file == null;
+  }
+
+  /**
+   * @param inputStream The stream which is read.
+   * @return A stream which updates the checksums with all bytes read from the given stream.
+   */
+  InputStream digesting(InputStream inputStream) {
+    return new DigestInputStream(new DigestInputStream(inputStream, this.sha1), this.sha256);
+  }
+
+  synchronized String sha1() throws IOException {
+    calculate();
+    if (this.sha1Value == null) {
+      this.sha1Value = hex(this.sha1.digest());
+    }
+    return this.sha1Value;
+  }
+
+  synchronized String sha256() throws IOException {
+    calculate();
+    if (this.sha256Value == null) {
+      this.sha256Value = hex(this.sha256.digest());
+    }
+    return this.sha256Value;
+  }
+
+  private void calculate() throws IOException {
+    if (this.file == null) {
+      return;
+    }
+    try (InputStream inputStream = digesting(Files.newInputStream(this.file.toPath()))) {
+      byte[] buffer = new byte[8192];
+      while (inputStream.read(buffer) != -1) {
+        // intentionally empty, the checksums are calculated while reading.
+      }
+    }
+    this.file = null;
+  }
+
+  private static String hex(byte[] digest) {
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest) {
+      result.append(String.format("%02x", b));
+    }
+    return result.toString();
+  }
+
+  /**
+   * Writes the checksums into the sidecar files {@code <file>.sha1} and {@code <file>.sha256}.
+   *
+   * @param file The file the checksums belong to.
+   * @throws IOException in case of failure to write the files.
+   */
+  void write(File file) throws IOException {
+    Files.write(sidecar(file, SHA1_EXTENSION), sha1().getBytes(StandardCharsets.US_ASCII));
+    Files.write(sidecar(file, SHA256_EXTENSION), sha256().getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Copies the sidecar files of the given source to the given destination without reading the source. This is
+   * only done if the source has a SHA-1 sidecar file. The SHA-256 sidecar file is optional.
+   *
+   * @param source The file within the local repository.
+   * @param destination The staged file.
+   * @return The SHA-1 of the source or {@link Optional#empty()} if the source has no SHA-1 sidecar file.
+   * @throws IOException in case of failure to read or write the sidecar files.
+   */
+  static Optional<String> copy(File source, File destination) throws IOException {
+    Optional<String> sha1 = read(source, SHA1_EXTENSION);
+    if (!sha1.isPresent()) {
+      return sha1;
+    }
+    Files.write(sidecar(destination, SHA1_EXTENSION), sha1.get().getBytes(StandardCharsets.US_ASCII));
+    Optional<String> sha256 = read(source, SHA256_EXTENSION);
+    if (sha256.isPresent()) {
+      Files.write(sidecar(destination, SHA256_EXTENSION), sha256.get().getBytes(StandardCharsets.US_ASCII));
+    } else {
+      Files.deleteIfExists(sidecar(destination, SHA256_EXTENSION));
+    }
+    return sha1;
+  }
+
+  /**
+   * @param file The file the checksums belong to.
+   * @return {@code true} if the SHA-1 sidecar file exists. The SHA-256 sidecar file is missing if the sidecar
+   * files have been copied from a local repository which contains only the SHA-1 (see {@link #copy(File, File)}).
+   */
+  static boolean exist(File file) {
+    return Files.isRegularFile(sidecar(file, SHA1_EXTENSION));
+  }
+
+  /**
+   * @param file The file the checksum belongs to.
+   * @param extension The extension of the sidecar file.
+   * @return The checksum of the sidecar file if it exists. The sidecar files of a remote
+   * repository can contain the file name after the checksum which is ignored.
+   * @throws IOException in case of failure to read the sidecar file.
+   */
+  static Optional<String> read(File file, String extension) throws IOException {
+    Path sidecar = sidecar(file, extension);
+    if (!Files.isRegularFile(sidecar)) {
+      return Optional.empty();
+    }
+    String content = new String(Files.readAllBytes(sidecar), StandardCharsets.US_ASCII).trim();
+    if (content.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(content.split("\\s+")[0].toLowerCase());
+  }
+
+  static Path sidecar(File file, String extension) {
+    return new File(file.getParentFile(), file.getName() + extension).toPath();
+  }
+}
@@ -19,12 +19,11 @@ package com.soebes.itf.maven.plugin;
  * under the License.
  */
 
-import com.soebes.itf.jupiter.maven.ProjectHelper;
+import com.soebes.itf.jupiter.maven.RepositoryArchive;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -38,18 +37,31 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.transfer.artifact.install.ArtifactInstaller;
 import org.apache.maven.shared.transfer.repository.RepositoryManager;
-import org.codehaus.plexus.util.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.function.Function.identity;
 
@@ -60,7 +72,7 @@ import static java.util.function.Function.identity;
  * @implNote Several parts are taken from the maven-invoker-plugin.
  */
 @Mojo(name = "install", defaultPhase = LifecyclePhase.PRE_INTEGRATION_TEST,
-    requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+    requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
 public class InstallMojo extends AbstractMojo {
   @Parameter(defaultValue = "${session}", required = true, readonly = true)
   private MavenSession session;
@@ -75,6 +87,22 @@ public class InstallMojo extends AbstractMojo {
   @Parameter(defaultValue = "${project.basedir}/target/itf-repo", required = true)
   private File itfRepository;
 
+  /**
+   * If {@code true} the artifacts are staged into the {@code target/itf-repo} of the top level project of the reactor
+   * instead of the {@link #itfRepository} of each module. This repository is shared by all modules of the reactor.
+   * Its location is written into {@code target/itf-repo.location} of each module which is read by the integration
+   * tests (unless the system property {@code itf.repository} is given). The file is deleted if the repository is not
+   * shared. In a shared repository files which are not staged anymore are not removed.
+   */
+  @Parameter(property = "itf.repository.shared", defaultValue = "false")
+  private boolean sharedRepository;
+
+  /**
+   * The file within the build directory of a module which contains the location of the shared repository.
+   * The name has to be in sync with the {@code DirectoryResolverResult} of the {@code itf-jupiter-extension}.
+   */
+  static final String REPOSITORY_LOCATION = "itf-repo.location";
+
   @Component
   private RepositoryManager repositoryManager;
 
@@ -87,6 +115,126 @@ public class InstallMojo extends AbstractMojo {
   @Parameter(defaultValue = "${reactorProjects}", readonly = true)
   private Collection<MavenProject> reactorProjects;
 
+  /**
+   * The number of threads which are used to copy the resolved dependencies (incl. their POM's and parent POM's)
+   * into the {@link #itfRepository}. The default is {@code 1} which means the dependencies are copied sequentially.
+   * The artifacts of the reactor are always installed sequentially.
+   */
+  @Parameter(property = "itf.install.threads", defaultValue = "1")
+  private int threads;
+
+  /**
+   * Defines how the dependencies which have been resolved from the local repository are staged into the
+   * {@link #itfRepository}.
+   * <ul>
+   *   <li>{@code copy} The files are copied.</li>
+   *   <li>{@code hardlink} The files are hard linked. This requires that the local repository and the
+   *   {@link #itfRepository} are on the same file system.</li>
+   *   <li>{@code symlink} The files are symbolic linked.</li>
+   *   <li>{@code auto} The files are hard linked if possible otherwise they are copied.</li>
+   * </ul>
+   * The artifacts of the reactor are always installed as copies.
+   */
+  @Parameter(property = "itf.install.linkMode", defaultValue = "copy")
+  private String linkMode;
+
+  /**
+   * The file into which the parents of the POM files from the local repository are persisted between builds.
+   * The parents of all POM files are always cached for all modules within the same build.
+   * For example {@code ${user.home}/.m2/itf-parent-poms.properties}.
+   */
+  @Parameter(property = "itf.install.parentPomCache")
+  private File parentPomCache;
+
+  /**
+   * If {@code true} the checksum files ({@code .sha1} and {@code .sha256}) are created for each staged artifact. This
+   * makes it possible to run the integration tests with {@code --strict-checksums}. For copied artifacts the
+   * checksums are calculated while copying them. For linked artifacts the checksum files of the local repository
+   * are copied if they exist (the {@code .sha256} file is optional). Linked artifacts are only read if the local
+   * repository contains no {@code .sha1} file or if {@code verifyChecksums} is {@code true}.
+   */
+  @Parameter(property = "itf.install.createChecksums", defaultValue = "true")
+  private boolean createChecksums;
+
+  /**
+   * If {@code true} the checksums of the artifacts which are copied from the local repository are compared with the
+   * checksum files of the local repository (if they exist).
+   */
+  @Parameter(property = "itf.install.verifyChecksums", defaultValue = "false")
+  private boolean verifyChecksums;
+
+  /**
+   * The scopes of the resolved dependencies which are staged, for example {@code test}. If not given the
+   * dependencies of the scopes {@code compile} and {@code runtime} are staged and if {@link #referencedOnly} is
+   * {@code true} the dependencies of other scopes which are referenced by the test projects.
+   */
+  @Parameter
+  private List<String> includeScopes;
+
+  /**
+   * The scopes of the resolved dependencies which are not staged.
+   */
+  @Parameter
+  private List<String> excludeScopes;
+
+  /**
+   * The types of the resolved dependencies which are staged, for example {@code jar} or {@code pom}. If not given all
+   * types are staged.
+   */
+  @Parameter
+  private List<String> includeTypes;
+
+  /**
+   * The types of the resolved dependencies which are not staged.
+   */
+  @Parameter
+  private List<String> excludeTypes;
+
+  /**
+   * The resolved dependencies which are staged given as {@code groupId:artifactId[:version]}. Each part can contain
+   * {@code *} as wildcard. If not given all dependencies are staged.
+   */
+  @Parameter
+  private List<String> includes;
+
+  /**
+   * The resolved dependencies which are not staged given as {@code groupId:artifactId[:version]}. Each part can
+   * contain {@code *} as wildcard.
+   */
+  @Parameter
+  private List<String> excludes;
+
+  /**
+   * If {@code true} only those resolved dependencies are staged which are referenced by the test projects within
+   * {@link #testProjectsDirectory} (as parent, dependency, plugin, plugin dependency or extension) or which are a
+   * transitive dependency of such a referenced artifact. If the test projects reference the project itself (for
+   * example the plugin under test) all its runtime dependencies are staged. Filter tokens like
+   * {@code @project.version@} within the test projects are replaced by the properties of the project.
+   */
+  @Parameter(property = "itf.install.referencedOnly", defaultValue = "false")
+  private boolean referencedOnly;
+
+  /**
+   * The directory which contains the test projects. Only used if {@link #referencedOnly} is {@code true}.
+   */
+  @Parameter(defaultValue = "${project.basedir}/src/test/resources-its", required = true)
+  private File testProjectsDirectory;
+
+  /**
+   * Zip archives which contain artifacts in the layout of a Maven repository. Each archive is extracted as a whole
+   * into the {@link #itfRepository} which is much cheaper than staging thousands of single files. Files which have
+   * been extracted by a previous execution are only extracted again if they have been changed.
+   */
+  @Parameter
+  private List<File> repositoryArchives;
+
+  /**
+   * The install goal is skipped if neither the resolved dependencies, the artifacts of the reactor nor the
+   * configuration have been changed since the previous execution. If {@code true} the artifacts are staged anyway.
+   */
+  @Parameter(property = "itf.install.force", defaultValue = "false")
+  private boolean force;
+
   /**
    * The identifiers of already installed artifacts, used to avoid multiple installation of the same artifact.
    */
@@ -111,22 +259,123 @@ public class InstallMojo extends AbstractMojo {
 
   private ProjectBuildingRequest projectBuildingRequest;
 
+  /**
+   * The local metadata of the copied artifacts which is written at the end of the execution.
+   */
+  private MetadataCollector metadata;
+
+  /**
+   * The manifest of the files staged into the {@link #itfRepository}.
+   */
+  private StagingManifest stagingManifest;
+
+  private LinkMode stagingLinkMode;
+
+  private ParentPomCache parentPoms;
+
   public void execute() throws MojoExecutionException, MojoFailureException {
+    try {
+      stagingLinkMode = LinkMode.of(linkMode);
+    } catch (IllegalArgumentException e) {
+      throw new MojoFailureException("The given linkMode '" + linkMode + "' is not supported.", e);
+    }
+    if (sharedRepository) {
+      itfRepository = new File(session.getTopLevelProject().getBuild().getDirectory(), "itf-repo");
+      getLog().info("Using shared repository " + itfRepository);
+    }
     createTestRepository();
+    writeRepositoryLocation();
+
+    try (RepositoryLock lock = RepositoryLock.acquire(itfRepository)) {
+      File fingerprintFile = new File(itfRepository,
+          ".itf-fingerprint-" + project.getGroupId() + "." + project.getArtifactId());
+      StagingFingerprint fingerprint = createFingerprint();
+      if (!force && fingerprint.matches(fingerprintFile)) {
+        getLog().info("Nothing has been changed since the previous execution. Use -Ditf.install.force to install anyway.");
+        return;
+      }
+      Files.deleteIfExists(fingerprintFile.toPath());
+
+      createStagingManifest();
 
-    installedArtifacts = new HashSet<>();
-    copiedArtifacts = new HashSet<>();
+      installedArtifacts = ConcurrentHashMap.newKeySet();
+      copiedArtifacts = ConcurrentHashMap.newKeySet();
+      metadata = new MetadataCollector();
 
-    installProjectDependencies(project, reactorProjects);
-    installProjectParents(project);
-    installProjectArtifacts(project);
+      installProjectDependencies(project, reactorProjects);
+      installProjectParents(project);
+      installProjectArtifacts(project);
+      installRepositoryArchives();
 
-    //TODO: We should consider to implement this?
-//        installExtraArtifacts( extraArtifacts );
+      writeMetadata();
+      updateStagingManifest();
+      storeParentPomCache();
 
+      fingerprint.write(fingerprintFile);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to stage into repository: " + itfRepository, e);
+    }
   }
 
 
+  /**
+   * Creates the fingerprint of the configuration, the resolved dependencies, the artifacts of the project, its parents
+   * and the projects of the reactor it depends on. The artifacts of the reactor are represented by their content cause
+   * they are recreated by each build.
+   */
+  private StagingFingerprint createFingerprint()
+      throws IOException {
+    StagingFingerprint fingerprint = new StagingFingerprint()
+        .add("project", project.getId())
+        .add("linkMode", stagingLinkMode)
+        .add("createChecksums", createChecksums)
+        .add("verifyChecksums", verifyChecksums)
+        .add("includeScopes", includeScopes)
+        .add("excludeScopes", excludeScopes)
+        .add("includeTypes", includeTypes)
+        .add("excludeTypes", excludeTypes)
+        .add("includes", includes)
+        .add("excludes", excludes)
+        .add("referencedOnly", referencedOnly);
+
+    if (repositoryArchives != null) {
+      for (File repositoryArchive : repositoryArchives) {
+        fingerprint.add("repositoryArchive", repositoryArchive);
+      }
+    }
+
+    for (Artifact artifact : project.getArtifacts()) {
+      fingerprint.add(artifact.getId(), artifact.getFile());
+    }
+
+    Collection<String> dependencyProjects = new LinkedHashSet<>();
+    collectAllProjectReferences(project, dependencyProjects);
+    Map<String, MavenProject> projects = reactorProjects.stream()
+        .collect(Collectors.toMap(ProjectIntoGAV, identity()));
+    List<MavenProject> fingerprintedProjects = new ArrayList<>();
+    fingerprintedProjects.add(project);
+    dependencyProjects.stream().map(projects::get).filter(Objects::nonNull).forEach(fingerprintedProjects::add);
+    for (MavenProject mvnProject : fingerprintedProjects) {
+      fingerprint.add(mvnProject.getId(), mvnProject.getFile())
+          .addContent(mvnProject.getArtifact().getId(), mvnProject.getArtifact().getFile());
+      for (Artifact attachedArtifact : mvnProject.getAttachedArtifacts()) {
+        fingerprint.addContent(attachedArtifact.getId(), attachedArtifact.getFile());
+      }
+      for (MavenProject parent = mvnProject.getParent(); parent != null; parent = parent.getParent()) {
+        fingerprint.add(parent.getId(), parent.getFile());
+      }
+    }
+
+    if (referencedOnly && testProjectsDirectory.isDirectory()) {
+      try (Stream<Path> files = Files.walk(testProjectsDirectory.toPath())) {
+        files.filter(p -> p.getFileName().toString().equals("pom.xml"))
+            .sorted()
+            .forEach(p -> fingerprint.add("test-project", p.toFile()));
+      }
+    }
+    return fingerprint;
+  }
+
   private void createTestRepository()
       throws MojoExecutionException {
 
@@ -135,6 +384,79 @@ public class InstallMojo extends AbstractMojo {
     }
     projectBuildingRequest =
         repositoryManager.setLocalRepositoryBasedir(session.getProjectBuildingRequest(), itfRepository);
+    try {
+      parentPoms = ParentPomCache.of(session.getRequest(), parentPomCache);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to read parent pom cache: " + parentPomCache, e);
+    }
+  }
+
+  /**
+   * Writes the location of the shared repository or deletes the location of a previous execution if the repository
+   * is not shared anymore. Otherwise the integration tests would still use the shared repository.
+   */
+  private void writeRepositoryLocation()
+      throws MojoExecutionException {
+    File location = new File(project.getBuild().getDirectory(), REPOSITORY_LOCATION);
+    try {
+      if (!sharedRepository) {
+        Files.deleteIfExists(location.toPath());
+        return;
+      }
+      Files.createDirectories(location.getParentFile().toPath());
+      Files.write(location.toPath(), itfRepository.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write the location of the shared repository: " + location, e);
+    }
+  }
+
+  private void createStagingManifest()
+      throws MojoExecutionException {
+    try {
+      stagingManifest = StagingManifest.read(itfRepository);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to read staging manifest of: " + itfRepository, e);
+    }
+  }
+
+  private void storeParentPomCache()
+      throws MojoExecutionException {
+    try {
+      parentPoms.store();
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write parent pom cache: " + parentPomCache, e);
+    }
+  }
+
+  private void writeMetadata()
+      throws MojoExecutionException {
+    try {
+      metadata.flush();
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write metadata into: " + itfRepository, e);
+    }
+  }
+
+  /**
+   * Removes the files which have been staged by a previous build but are not part of the current one and writes the
+   * manifest of the current build.
+   *
+   * @throws MojoExecutionException If the manifest could not be updated.
+   */
+  private void updateStagingManifest()
+      throws MojoExecutionException {
+    try {
+      if (sharedRepository) {
+        stagingManifest.retainPrevious();
+      } else {
+        for (File pruned : stagingManifest.prune()) {
+          getLog().debug("Removed " + pruned + " which is not staged anymore.");
+        }
+      }
+      stagingManifest.write();
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to update staging manifest of: " + itfRepository, e);
+    }
   }
 
   /**
@@ -160,9 +482,17 @@ public class InstallMojo extends AbstractMojo {
       }
 
       if (installedArtifacts.add(artifact.getId())) {
+        File destination =
+            new File(itfRepository,
+                repositoryManager.getPathForLocalArtifact(projectBuildingRequest, artifact));
+        if (isUpToDate(destination, file)) {
+          getLog().debug("Not re-installing unchanged " + artifact + ", " + file);
+          return;
+        }
         artifact.setFile(file);
         installer.install(projectBuildingRequest, itfRepository,
             Collections.singletonList(artifact));
+        staged(destination, file, Checksums.of(file));
       } else {
         getLog().debug("Not re-installing " + artifact + ", " + file);
       }
@@ -171,6 +501,51 @@ public class InstallMojo extends AbstractMojo {
     }
   }
 
+  private boolean isUpToDate(File destination, File source)
+      throws IOException {
+    return stagingManifest.isUpToDate(destination, source) && (!createChecksums || Checksums.exist(destination));
+  }
+
+  /**
+   * The sidecar files of a linked file are copied from the local repository if it contains them. Only otherwise
+   * the linked file is read to calculate them. If no sidecar files are needed the SHA-1 is not recorded in the
+   * manifest, which means a changed last modification time of the source stages the file again instead of
+   * comparing the SHA-1.
+   */
+  private void staged(File destination, File source, Checksums checksums)
+      throws IOException {
+    String sha1 = checksums.isCalculated() ? checksums.sha1() : null;
+    if (createChecksums) {
+      Optional<String> copied = sha1 == null ? Checksums.copy(source, destination) : Optional.empty();
+      if (copied.isPresent()) {
+        sha1 = copied.get();
+      } else {
+        checksums.write(destination);
+        sha1 = checksums.sha1();
+      }
+    }
+    stagingManifest.staged(destination, source, sha1);
+  }
+
+  /**
+   * Compares the checksums which have been calculated while staging the file with the checksums of the
+   * local repository if they exist.
+   */
+  private void verifyChecksums(File source, File destination, Checksums checksums)
+      throws IOException {
+    Optional<String> sha1 = Checksums.read(source, Checksums.SHA1_EXTENSION);
+    Optional<String> sha256 = Checksums.read(source, Checksums.SHA256_EXTENSION);
+    if ((sha1.isPresent() && !sha1.get().equals(checksums.sha1()))
+        || (sha256.isPresent() && !sha256.get().equals(checksums.sha256()))) {
+      Files.deleteIfExists(destination.toPath());
+      throw new IllegalStateException("Checksum mismatch of " + source + " expected sha1:" + sha1.orElse("-")
+          + " sha256:" + sha256.orElse("-") + " but was sha1:" + checksums.sha1() + " sha256:" + checksums.sha256());
+    }
+    if (!sha1.isPresent() && !sha256.isPresent()) {
+      getLog().debug("No checksums to verify " + source);
+    }
+  }
+
   /**
    * Installs the specified artifact to the local repository. This method serves basically the same purpose as
    * {@link #installArtifact(File, Artifact)} but is meant for artifacts that have been resolved
@@ -197,11 +572,20 @@ public class InstallMojo extends AbstractMojo {
             new File(itfRepository,
                 repositoryManager.getPathForLocalArtifact(projectBuildingRequest, artifact));
 
+        if (isUpToDate(destination, file)) {
+          getLog().debug("Not re-installing unchanged " + artifact + ", " + file);
+          return;
+        }
+
         getLog().debug("Installing " + file + " to " + destination);
 
-        copyFileIfDifferent(file, destination);
+        Checksums checksums = stagingLinkMode.stage(file, destination);
+        if (verifyChecksums) {
+          verifyChecksums(file, destination, checksums);
+        }
+        staged(destination, file, checksums);
 
-        MetadataUtils.createMetadata(destination, artifact);
+        metadata.createMetadata(destination, artifact);
       } else {
         getLog().debug("Not re-installing " + artifact + ", " + file);
       }
@@ -210,14 +594,6 @@ public class InstallMojo extends AbstractMojo {
     }
   }
 
-  private void copyFileIfDifferent(File src, File dst)
-      throws IOException {
-    if (src.lastModified() != dst.lastModified() || src.length() != dst.length()) {
-      FileUtils.copyFile(src, dst);
-      dst.setLastModified(src.lastModified());
-    }
-  }
-
   /**
    * Installs the main artifact and any attached artifacts of the specified project to the local repository.
    *
@@ -320,15 +696,23 @@ public class InstallMojo extends AbstractMojo {
 
     // group transitive dependencies (even those that don't contribute to the class path like POMs) ...
     // ... and those that were resolved from the (local) repo
+    StagingFilter stagingFilter = createStagingFilter();
     Collection<Artifact> dependencyArtifacts = mvnProject.getArtifacts().stream()
         .filter(isInProjects(projects).negate())
+        .filter(stagingFilter)
         .collect(Collectors.collectingAndThen(Collectors.toList(), LinkedHashSet::new));
+    getLog().debug("Staging " + dependencyArtifacts.size() + " of " + mvnProject.getArtifacts().size()
+        + " resolved dependencies.");
 
     // install dependencies
     try {
       // copy dependencies that where resolved from the local repo
-      for (Artifact artifact : dependencyArtifacts) {
-        copyArtifact(artifact);
+      if (threads > 1) {
+        copyArtifactsInParallel(dependencyArtifacts);
+      } else {
+        for (Artifact artifact : dependencyArtifacts) {
+          copyArtifact(artifact);
+        }
       }
 
       // install dependencies that were resolved from the reactor
@@ -347,6 +731,91 @@ public class InstallMojo extends AbstractMojo {
     }
   }
 
+  /**
+   * Copies the given artifacts on a bounded number of {@link #threads}. All copies are finished before this method
+   * returns.
+   *
+   * @param artifacts The artifacts which should be copied, must not be <code>null</code>.
+   * @throws MojoExecutionException If any artifact could not be copied.
+   */
+  private void copyArtifactsInParallel(Collection<Artifact> artifacts)
+      throws MojoExecutionException {
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Void>> copies = new ArrayList<>();
+      for (Artifact artifact : artifacts) {
+        copies.add(executorService.submit(() -> {
+          copyArtifact(artifact);
+          return null;
+        }));
+      }
+      for (Future<Void> copy : copies) {
+        copy.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to copy artifacts.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while copying artifacts.", e);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  /**
+   * Extracts the {@link #repositoryArchives} into the {@link #itfRepository} using the configured number of
+   * {@link #threads}.
+   *
+   * @throws MojoExecutionException If any archive could not be extracted.
+   */
+  private void installRepositoryArchives()
+      throws MojoExecutionException {
+    if (repositoryArchives == null) {
+      return;
+    }
+    for (File repositoryArchive : repositoryArchives) {
+      if (!repositoryArchive.isFile()) {
+        throw new MojoExecutionException("The repository archive " + repositoryArchive + " does not exist.");
+      }
+      try {
+        List<Path> extracted = RepositoryArchive.extract(repositoryArchive.toPath(), itfRepository.toPath(), threads);
+        getLog().info("Extracted " + extracted.size() + " files from " + repositoryArchive);
+      } catch (IOException e) {
+        throw new MojoExecutionException("Failed to extract repository archive: " + repositoryArchive, e);
+      }
+    }
+  }
+
+  private StagingFilter createStagingFilter()
+      throws MojoExecutionException {
+    Optional<Set<String>> referenced = Optional.empty();
+    if (referencedOnly) {
+      try {
+        referenced = Optional.of(StagingFilter.referencedBy(testProjectsDirectory.toPath(), filterValues()));
+      } catch (IOException e) {
+        throw new MojoExecutionException("Failed to scan test projects in: " + testProjectsDirectory, e);
+      }
+    }
+    return new StagingFilter(includeScopes, excludeScopes, includeTypes, excludeTypes, includes, excludes, referenced);
+  }
+
+  /**
+   * @return The values which are used by the resources filtering of the test projects ({@code @project.groupId@} etc.).
+   */
+  private Map<String, String> filterValues() {
+    Map<String, String> values = new HashMap<>();
+    for (String key : project.getProperties().stringPropertyNames()) {
+      values.put(key, project.getProperties().getProperty(key));
+    }
+    values.put("project.groupId", project.getGroupId());
+    values.put("project.artifactId", project.getArtifactId());
+    values.put("project.version", project.getVersion());
+    return values;
+  }
+
   protected void collectAllProjectReferences(MavenProject project, Collection<String> dependencyProjects) {
     for (MavenProject reactorProject : project.getProjectReferences().values()) {
       String projectId =
@@ -393,10 +862,14 @@ public class InstallMojo extends AbstractMojo {
    */
   private void copyParentPoms(File pomFile)
       throws MojoExecutionException {
-    Model model = ProjectHelper.readProject(pomFile);
-    Parent parent = model.getParent();
-    if (parent != null) {
-      copyParentPoms(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+    Optional<Parent> parent;
+    try {
+      parent = parentPoms.parentOf(pomFile);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to read pom file: " + pomFile, e);
+    }
+    if (parent.isPresent()) {
+      copyParentPoms(parent.get().getGroupId(), parent.get().getArtifactId(), parent.get().getVersion());
     }
   }
 
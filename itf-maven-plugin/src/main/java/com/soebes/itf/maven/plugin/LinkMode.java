@@ -0,0 +1,121 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Defines how an artifact of the local repository is staged into the {@code itf-repo}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+enum LinkMode {
+
+  /**
+   * The file is copied. The copy is written to a temporary file first and moved to the
+   * destination afterwards, so a reader of a shared repository never sees a partial file.
+   */
+  COPY {
+    @Override
+    Checksums stage(File source, File destination) throws IOException {
+      Path target = prepare(destination);
+      Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      Checksums checksums = Checksums.create();
+      try {
+        try (InputStream inputStream = checksums.digesting(Files.newInputStream(source.toPath()))) {
+          Files.copy(inputStream, temporary, StandardCopyOption.REPLACE_EXISTING);
+        }
+        temporary.toFile().setLastModified(source.lastModified());
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+      return checksums;
+    }
+  },
+  /**
+   * The file is hard linked. This requires that source and destination are on the same file system.
+   */
+  HARDLINK {
+    @Override
+    Checksums stage(File source, File destination) throws IOException {
+      Files.createLink(prepare(destination), source.toPath());
+      return Checksums.lazy(source);
+    }
+  },
+  /**
+   * The file is symbolic linked.
+   */
+  SYMLINK {
+    @Override
+    Checksums stage(File source, File destination) throws IOException {
+      Files.createSymbolicLink(prepare(destination), source.toPath().toAbsolutePath());
+      return Checksums.lazy(source);
+    }
+  },
+  /**
+   * The file is hard linked if possible otherwise it is copied.
+   */
+  AUTO {
+    @Override
+    Checksums stage(File source, File destination) throws IOException {
+      try {
+        return HARDLINK.stage(source, destination);
+      } catch (IOException | UnsupportedOperationException e) {
+        return COPY.stage(source, destination);
+      }
+    }
+  };
+
+  /**
+   * @param source The file within the local repository.
+   * @param destination The file within the {@code itf-repo}.
+   * @return The {@link Checksums} of the staged file. In case of a copy they are calculated
+   * while copying the file, in case of a link only if they are accessed.
+   * @throws IOException in case of failure to stage the file.
+   */
+  abstract Checksums stage(File source, File destination) throws IOException;
+
+  /**
+   * An existing destination is deleted first, cause it might be a link to the source
+   * which was created by a previous build using a different link mode.
+   */
+  private static Path prepare(File destination) throws IOException {
+    Path path = destination.toPath();
+    Files.createDirectories(path.getParent());
+    Files.deleteIfExists(path);
+    return path;
+  }
+
+  /**
+   * @param linkMode The name of the link mode (case insensitive).
+   * @return The {@link LinkMode}
+   * @throws IllegalArgumentException if the given name is not a valid link mode.
+   */
+  static LinkMode of(String linkMode) {
+    return valueOf(linkMode.trim().toUpperCase(Locale.ROOT));
+  }
+}
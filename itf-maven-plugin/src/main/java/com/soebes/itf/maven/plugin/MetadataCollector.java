@@ -0,0 +1,226 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.WriterFactory;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.codehaus.plexus.util.xml.Xpp3DomUtils;
+import org.codehaus.plexus.util.xml.Xpp3DomWriter;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the local metadata of artifacts and writes each metadata file once.
+ *
+ * @author Benjamin Bentmann
+ */
+class MetadataCollector {
+
+  private static final String VERSION = "version";
+  private static final String VERSIONING = "versioning";
+  private static final String ARTIFACT_ID = "artifactId";
+  private static final String GROUP_ID = "groupId";
+  private static final String METADATA = "metadata";
+  private static final String LAST_UPDATED = "lastUpdated";
+  private static final String VERSIONS = "versions";
+  private static final String MAVEN_METADATA_LOCAL = "maven-metadata-local.xml";
+
+  private static final DateTimeFormatter LAST_UPDATED_FORMAT =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+  private final String timestamp;
+
+  /**
+   * The metadata on {@code groupId/artifactId} level.
+   */
+  private final Map<File, Metadata> artifactMetadata;
+
+  /**
+   * The metadata on {@code groupId/artifactId/version} level of snapshot artifacts.
+   */
+  private final Map<File, Metadata> snapshotMetadata;
+
+  MetadataCollector() {
+    this.timestamp = LAST_UPDATED_FORMAT.format(Instant.now());
+    this.artifactMetadata = new ConcurrentHashMap<>();
+    this.snapshotMetadata = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Collects the local metadata for the specified artifact. The goal is to simulate the installation of the artifact
+   * by a local build, thereby decoupling the forked builds from the inderministic collection of remote repositories
+   * that are available to the main build and from which the artifact was originally resolved.
+   * The metadata is written by {@link #flush()}.
+   *
+   * @param file The artifact's file in the local test repository, must not be <code>null</code>.
+   * @param artifact The artifact to create metadata for, must not be <code>null</code>.
+   */
+  void createMetadata(File file, Artifact artifact) {
+    if (artifact.isSnapshot()) {
+      this.snapshotMetadata.computeIfAbsent(new File(file.getParentFile(), MAVEN_METADATA_LOCAL),
+          k -> new Metadata(artifact.getGroupId(), artifact.getArtifactId()))
+          .addVersion(artifact.getBaseVersion());
+    }
+
+    this.artifactMetadata.computeIfAbsent(new File(file.getParentFile().getParentFile(), MAVEN_METADATA_LOCAL),
+        k -> new Metadata(artifact.getGroupId(), artifact.getArtifactId()))
+        .addVersion(artifact.getBaseVersion());
+  }
+
+  /**
+   * Writes all collected metadata. Existing metadata files on {@code groupId/artifactId} level
+   * are merged with the collected metadata.
+   *
+   * @throws IOException If the metadata could not be written.
+   */
+  void flush()
+      throws IOException {
+    for (Map.Entry<File, Metadata> entry : this.snapshotMetadata.entrySet()) {
+      writeSnapshotMetadata(entry.getKey(), entry.getValue());
+    }
+    this.snapshotMetadata.clear();
+
+    for (Map.Entry<File, Metadata> entry : this.artifactMetadata.entrySet()) {
+      writeArtifactMetadata(entry.getKey(), entry.getValue());
+    }
+    this.artifactMetadata.clear();
+  }
+
+  private void writeSnapshotMetadata(File metadataFile, Metadata snapshot)
+      throws IOException {
+    Xpp3Dom metadata = new Xpp3Dom(METADATA);
+    addChild(metadata, GROUP_ID, snapshot.groupId);
+    addChild(metadata, ARTIFACT_ID, snapshot.artifactId);
+    addChild(metadata, VERSION, snapshot.versions().iterator().next());
+    Xpp3Dom versioning = new Xpp3Dom(VERSIONING);
+    versioning.addChild(addChild(new Xpp3Dom("snapshot"), "localCopy", "true"));
+    addChild(versioning, LAST_UPDATED, this.timestamp);
+    metadata.addChild(versioning);
+
+    writeMetadata(metadataFile, metadata);
+  }
+
+  private void writeArtifactMetadata(File metadataFile, Metadata artifact)
+      throws IOException {
+    Set<String> allVersions = new LinkedHashSet<>();
+
+    Xpp3Dom existing = readMetadata(metadataFile);
+
+    if (existing != null) {
+      Xpp3Dom versioning = existing.getChild(VERSIONING);
+      if (versioning != null) {
+        Xpp3Dom versions = versioning.getChild(VERSIONS);
+        if (versions != null) {
+
+          Xpp3Dom[] children = versions.getChildren(VERSION);
+          for (Xpp3Dom aChildren : children) {
+            allVersions.add(aChildren.getValue());
+          }
+        }
+      }
+    }
+
+    allVersions.addAll(artifact.versions());
+
+    Xpp3Dom metadata = new Xpp3Dom(METADATA);
+    addChild(metadata, GROUP_ID, artifact.groupId);
+    addChild(metadata, ARTIFACT_ID, artifact.artifactId);
+    Xpp3Dom versioning = new Xpp3Dom(VERSIONING);
+    versioning.addChild(addChildren(new Xpp3Dom(VERSIONS), VERSION, allVersions));
+    addChild(versioning, LAST_UPDATED, this.timestamp);
+    metadata.addChild(versioning);
+
+    metadata = Xpp3DomUtils.mergeXpp3Dom(metadata, existing);
+
+    writeMetadata(metadataFile, metadata);
+  }
+
+  private static Xpp3Dom addChild(Xpp3Dom parent, String childName, String childValue) {
+    Xpp3Dom child = new Xpp3Dom(childName);
+    child.setValue(childValue);
+    parent.addChild(child);
+    return parent;
+  }
+
+  private static Xpp3Dom addChildren(Xpp3Dom parent, String childName, Collection<String> childValues) {
+    for (String childValue : childValues) {
+      addChild(parent, childName, childValue);
+    }
+    return parent;
+  }
+
+  private static Xpp3Dom readMetadata(File metadataFile)
+      throws IOException {
+    if (!metadataFile.isFile()) {
+      return null;
+    }
+
+    try (Reader reader = ReaderFactory.newXmlReader(metadataFile)) {
+      return Xpp3DomBuilder.build(reader);
+    } catch (XmlPullParserException e) {
+      throw (IOException) new IOException(e.getMessage()).initCause(e);
+    }
+  }
+
+  private static void writeMetadata(File metadataFile, Xpp3Dom metadata)
+      throws IOException {
+    metadataFile.getParentFile().mkdirs();
+
+    try (Writer writer = WriterFactory.newXmlWriter(metadataFile)) {
+      Xpp3DomWriter.write(writer, metadata);
+    }
+  }
+
+  private static final class Metadata {
+    private final String groupId;
+    private final String artifactId;
+    private final Set<String> versions;
+
+    private Metadata(String groupId, String artifactId) {
+      this.groupId = groupId;
+      this.artifactId = artifactId;
+      this.versions = new LinkedHashSet<>();
+    }
+
+    private synchronized void addVersion(String version) {
+      this.versions.add(version);
+    }
+
+    private synchronized Set<String> versions() {
+      return new LinkedHashSet<>(this.versions);
+    }
+  }
+
+}
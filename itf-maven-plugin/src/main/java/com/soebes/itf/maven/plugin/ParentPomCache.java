@@ -0,0 +1,168 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.soebes.itf.jupiter.maven.ProjectHelper;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.model.Parent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the parent of POM files from the local repository for all executions of the
+ * {@link InstallMojo} within the same Maven build. Optionally the cache is persisted
+ * into a file which is read by the next build. The persisted entries are identified
+ * by the SHA-1 of the POM file.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The cache is bound to the {@link MavenExecutionRequest} cause the
+ * {@code MavenSession} is cloned for each module in a multi threaded build.
+ */
+final class ParentPomCache {
+
+  private static final String NO_PARENT = "";
+
+  private static final Map<MavenExecutionRequest, ParentPomCache> CACHES = new WeakHashMap<>();
+
+  private final File persistentCache;
+
+  /**
+   * The parents identified by the absolute path of the POM file. The files within the
+   * local repository are not changed once they are there.
+   */
+  private final Map<String, String> parentsByPath;
+
+  /**
+   * The parents identified by the SHA-1 of the POM file.
+   */
+  private final Map<String, String> parentsByChecksum;
+
+  private volatile boolean changed;
+
+  private ParentPomCache(File persistentCache) {
+    this.persistentCache = persistentCache;
+    this.parentsByPath = new ConcurrentHashMap<>();
+    this.parentsByChecksum = new ConcurrentHashMap<>();
+    this.changed = false;
+  }
+
+  /**
+   * @param request The request of the current build.
+   * @param persistentCache The file which contains the persisted cache. Can be {@code null}.
+   * @return The {@link ParentPomCache} of the current build.
+   * @throws IOException in case of failure to read the persisted cache.
+   */
+  static ParentPomCache of(MavenExecutionRequest request, File persistentCache) throws IOException {
+    synchronized (CACHES) {
+      ParentPomCache cache = CACHES.get(request);
+      if (cache == null) {
+        cache = new ParentPomCache(persistentCache);
+        cache.load();
+        CACHES.put(request, cache);
+      }
+      return cache;
+    }
+  }
+
+  /**
+   * @param pomFile The POM file within the local repository.
+   * @return The parent of the given POM file if any.
+   * @throws IOException in case of failure to read the POM file.
+   */
+  Optional<Parent> parentOf(File pomFile) throws IOException {
+    String path = pomFile.getAbsolutePath();
+    String parent = this.parentsByPath.get(path);
+    if (parent == null) {
+      String checksum = this.persistentCache == null ? null : StagingManifest.sha1(pomFile);
+      parent = checksum == null ? null : this.parentsByChecksum.get(checksum);
+      if (parent == null) {
+        parent = coordinatesOf(ProjectHelper.readProject(pomFile).getParent());
+        if (checksum != null) {
+          this.parentsByChecksum.put(checksum, parent);
+          this.changed = true;
+        }
+      }
+      this.parentsByPath.put(path, parent);
+    }
+    return toParent(parent);
+  }
+
+  private static String coordinatesOf(Parent parent) {
+    if (parent == null) {
+      return NO_PARENT;
+    }
+    return parent.getGroupId() + ':' + parent.getArtifactId() + ':' + parent.getVersion();
+  }
+
+  private static Optional<Parent> toParent(String coordinates) {
+    String[] gav = coordinates.split(":");
+    if (gav.length != 3) {
+      return Optional.empty();
+    }
+    Parent parent = new Parent();
+    parent.setGroupId(gav[0]);
+    parent.setArtifactId(gav[1]);
+    parent.setVersion(gav[2]);
+    return Optional.of(parent);
+  }
+
+  private void load() throws IOException {
+    if (this.persistentCache == null || !this.persistentCache.isFile()) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(this.persistentCache.toPath())) {
+      properties.load(inputStream);
+    }
+    properties.stringPropertyNames().forEach(name -> this.parentsByChecksum.put(name, properties.getProperty(name)));
+  }
+
+  /**
+   * Writes the cache into the persistent cache file if it has been changed.
+   *
+   * @throws IOException in case of failure to write the persistent cache file.
+   */
+  synchronized void store() throws IOException {
+    if (this.persistentCache == null || !this.changed) {
+      return;
+    }
+    Properties properties = new Properties();
+    properties.putAll(this.parentsByChecksum);
+    Path target = this.persistentCache.toPath().toAbsolutePath();
+    Files.createDirectories(target.getParent());
+    Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+      properties.store(outputStream, "sha1 of pom.xml = parent groupId:artifactId:version");
+    }
+    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    this.changed = false;
+  }
+}
@@ -0,0 +1,94 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An exclusive lock on a repository which is used to stage artifacts from several modules
+ * (built in parallel via {@code -T}) or several builds into the same repository.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote A {@link FileLock} is held by the whole JVM which means it can not be used to
+ * serialise threads of the same JVM. Therefore an additional lock per repository is used
+ * within the JVM.
+ */
+final class RepositoryLock implements AutoCloseable {
+
+  static final String LOCK_FILE = ".itf-lock";
+
+  private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+  private final ReentrantLock lock;
+
+  private final FileChannel channel;
+
+  private final FileLock fileLock;
+
+  private RepositoryLock(ReentrantLock lock, FileChannel channel, FileLock fileLock) {
+    this.lock = lock;
+    this.channel = channel;
+    this.fileLock = fileLock;
+  }
+
+  /**
+   * Waits until the lock on the given repository could be acquired.
+   *
+   * @param repository The repository which should be locked.
+   * @return The {@link RepositoryLock} which must be closed to release the lock.
+   * @throws IOException in case of failure to lock the repository.
+   */
+  static RepositoryLock acquire(File repository) throws IOException {
+    Path path = repository.toPath().toAbsolutePath().normalize();
+    ReentrantLock lock = LOCKS.computeIfAbsent(path, k -> new ReentrantLock());
+    lock.lock();
+    try {
+      FileChannel channel = FileChannel.open(path.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE);
+      try {
+        return new RepositoryLock(lock, channel, channel.lock());
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    } catch (IOException | RuntimeException e) {
+      lock.unlock();
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      this.fileLock.release();
+      this.channel.close();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.soebes.itf.jupiter.maven.ProjectHelper;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decides which of the resolved dependencies are staged into the {@code itf-repo}.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class StagingFilter implements Predicate<Artifact> {
+
+  private static final String DEFAULT_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
+
+  private static final List<String> RUNTIME_SCOPES = Arrays.asList(Artifact.SCOPE_COMPILE, Artifact.SCOPE_RUNTIME);
+
+  private static final Pattern FILTER_TOKEN = Pattern.compile("@([^@]+)@");
+
+  private final List<String> includeScopes;
+
+  private final List<String> excludeScopes;
+
+  private final List<String> includeTypes;
+
+  private final List<String> excludeTypes;
+
+  private final List<Pattern> includes;
+
+  private final List<Pattern> excludes;
+
+  private final Optional<Set<String>> referenced;
+
+  /**
+   * @param includeScopes The scopes which are staged. Empty means the runtime scopes ({@code compile} and
+   * {@code runtime}) and if {@code referenced} is given the artifacts of other scopes which are referenced.
+   * @param excludeScopes The scopes which are not staged.
+   * @param includeTypes The types which are staged. Empty means all types.
+   * @param excludeTypes The types which are not staged.
+   * @param includes The patterns {@code groupId:artifactId[:version]} of artifacts which are staged.
+   * Empty means all artifacts.
+   * @param excludes The patterns {@code groupId:artifactId[:version]} of artifacts which are not staged.
+   * @param referenced The {@code groupId:artifactId} which are referenced by the test projects. If given only the
+   * artifacts which are referenced or are a (transitive) dependency of a referenced artifact are staged.
+   */
+  StagingFilter(List<String> includeScopes, List<String> excludeScopes, List<String> includeTypes,
+                List<String> excludeTypes, List<String> includes, List<String> excludes,
+                Optional<Set<String>> referenced) {
+    this.includeScopes = orEmpty(includeScopes);
+    this.excludeScopes = orEmpty(excludeScopes);
+    this.includeTypes = orEmpty(includeTypes);
+    this.excludeTypes = orEmpty(excludeTypes);
+    this.includes = orEmpty(includes).stream().map(StagingFilter::toPattern).collect(Collectors.toList());
+    this.excludes = orEmpty(excludes).stream().map(StagingFilter::toPattern).collect(Collectors.toList());
+    this.referenced = referenced;
+  }
+
+  private static List<String> orEmpty(List<String> list) {
+    return list == null ? Collections.emptyList() : list;
+  }
+
+  /**
+   * Converts the given pattern which may contain {@code *} as wildcard into a {@link Pattern}.
+   * A missing version matches any version.
+   */
+  private static Pattern toPattern(String gav) {
+    String[] segments = gav.trim().split(":");
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < 3; i++) {
+      if (i > 0) {
+        regex.append(':');
+      }
+      String segment = i < segments.length ? segments[i] : "*";
+      for (String part : segment.split("\\*", -1)) {
+        regex.append(Pattern.quote(part)).append("[^:]*");
+      }
+      regex.setLength(regex.length() - "[^:]*".length());
+    }
+    return Pattern.compile(regex.toString());
+  }
+
+  @Override
+  public boolean test(Artifact artifact) {
+    String scope = artifact.getScope() == null ? Artifact.SCOPE_COMPILE : artifact.getScope();
+    String gav = artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getBaseVersion();
+    boolean isReferenced = referenced.map(ga -> isReferenced(artifact, ga)).orElse(true);
+    return (includeScopes.isEmpty()
+        ? RUNTIME_SCOPES.contains(scope) || referenced.isPresent() && isReferenced
+        : includeScopes.contains(scope))
+        && !excludeScopes.contains(scope)
+        && (includeTypes.isEmpty() || includeTypes.contains(artifact.getType()))
+        && !excludeTypes.contains(artifact.getType())
+        && (includes.isEmpty() || includes.stream().anyMatch(p -> p.matcher(gav).matches()))
+        && excludes.stream().noneMatch(p -> p.matcher(gav).matches())
+        && isReferenced;
+  }
+
+  /**
+   * An artifact is referenced if the artifact itself is referenced or if one of the artifacts which have pulled it
+   * in (the dependency trail) is referenced. The first element of the trail is the project itself. If the project
+   * is referenced by the test projects (for example the plugin under test) its runtime dependencies are needed to
+   * execute it, but its test and provided dependencies are not.
+   */
+  private static boolean isReferenced(Artifact artifact, Set<String> referenced) {
+    if (referenced.contains(artifact.getGroupId() + ':' + artifact.getArtifactId())) {
+      return true;
+    }
+    List<String> trail = artifact.getDependencyTrail();
+    if (trail == null || trail.isEmpty()) {
+      return false;
+    }
+    String scope = artifact.getScope() == null ? Artifact.SCOPE_COMPILE : artifact.getScope();
+    if (RUNTIME_SCOPES.contains(scope) && referenced.contains(toGroupIdArtifactId(trail.get(0)))) {
+      return true;
+    }
+    return trail.stream()
+        .skip(1)
+        .map(StagingFilter::toGroupIdArtifactId)
+        .anyMatch(referenced::contains);
+  }
+
+  /**
+   * @param id The id of an artifact {@code groupId:artifactId:type:version} as used by the dependency trail.
+   * @return The {@code groupId:artifactId} of the given id.
+   */
+  private static String toGroupIdArtifactId(String id) {
+    String[] segments = id.split(":");
+    return segments.length > 1 ? segments[0] + ':' + segments[1] : id;
+  }
+
+  /**
+   * Scans all {@code pom.xml} files within the given directory for the coordinates of parents,
+   * dependencies, plugins (incl. their dependencies) and extensions. The test projects are not
+   * filtered yet, so tokens like {@code @project.groupId@} are replaced by the given values.
+   * Coordinates which contain unresolved tokens or expressions are ignored.
+   *
+   * @param testProjects The directory which contains the test projects.
+   * @param filterValues The values of the tokens, for example {@code project.groupId}.
+   * @return The referenced {@code groupId:artifactId}.
+   * @throws IOException in case of failure to scan the directory.
+   */
+  static Set<String> referencedBy(Path testProjects, Map<String, String> filterValues) throws IOException {
+    Set<String> referenced = new HashSet<>();
+    if (!Files.isDirectory(testProjects)) {
+      return referenced;
+    }
+    List<Path> pomFiles;
+    try (Stream<Path> files = Files.walk(testProjects)) {
+      pomFiles = files.filter(p -> p.getFileName().toString().equals("pom.xml"))
+          .filter(Files::isRegularFile)
+          .collect(Collectors.toList());
+    }
+    for (Path pomFile : pomFiles) {
+      Model model;
+      try {
+        model = ProjectHelper.readProject(pomFile.toFile());
+      } catch (IllegalStateException e) {
+        // Test projects might intentionally contain invalid pom files.
+        continue;
+      }
+      collect(model, referenced);
+    }
+    return referenced.stream()
+        .map(ga -> filter(ga, filterValues))
+        .filter(ga -> !ga.contains("@") && !ga.contains("${"))
+        .collect(Collectors.toSet());
+  }
+
+  private static String filter(String value, Map<String, String> filterValues) {
+    Matcher matcher = FILTER_TOKEN.matcher(value);
+    StringBuffer result = new StringBuffer();
+    while (matcher.find()) {
+      String replacement = filterValues.getOrDefault(matcher.group(1), matcher.group());
+      matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+    }
+    matcher.appendTail(result);
+    return result.toString();
+  }
+
+  private static void collect(Model model, Set<String> referenced) {
+    if (model.getParent() != null) {
+      referenced.add(model.getParent().getGroupId() + ':' + model.getParent().getArtifactId());
+    }
+    addDependencies(model.getDependencies(), referenced);
+    if (model.getDependencyManagement() != null) {
+      addDependencies(model.getDependencyManagement().getDependencies(), referenced);
+    }
+    addBuild(model.getBuild(), referenced);
+    Build build = model.getBuild();
+    if (build != null) {
+      build.getExtensions().forEach(e -> referenced.add(e.getGroupId() + ':' + e.getArtifactId()));
+    }
+    for (Profile profile : model.getProfiles()) {
+      addDependencies(profile.getDependencies(), referenced);
+      if (profile.getDependencyManagement() != null) {
+        addDependencies(profile.getDependencyManagement().getDependencies(), referenced);
+      }
+      addBuild(profile.getBuild(), referenced);
+    }
+  }
+
+  private static void addBuild(BuildBase build, Set<String> referenced) {
+    if (build == null) {
+      return;
+    }
+    addPlugins(build.getPlugins(), referenced);
+    if (build.getPluginManagement() != null) {
+      addPlugins(build.getPluginManagement().getPlugins(), referenced);
+    }
+  }
+
+  private static void addPlugins(Collection<Plugin> plugins, Set<String> referenced) {
+    for (Plugin plugin : plugins) {
+      String groupId = plugin.getGroupId() == null ? DEFAULT_PLUGIN_GROUP_ID : plugin.getGroupId();
+      referenced.add(groupId + ':' + plugin.getArtifactId());
+      addDependencies(plugin.getDependencies(), referenced);
+    }
+  }
+
+  private static void addDependencies(Collection<Dependency> dependencies, Set<String> referenced) {
+    dependencies.forEach(d -> referenced.add(d.getGroupId() + ':' + d.getArtifactId()));
+  }
+}
@@ -0,0 +1,117 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * A fingerprint of everything which influences the result of staging the artifacts of a project
+ * into the {@code itf-repo}. Files are usually only represented by their path, size and last
+ * modification time, so calculating the fingerprint does not read them.
+ *
+ * @author Karl Heinz Marbaise
+ */
+final class StagingFingerprint {
+
+  private final MessageDigest messageDigest;
+
+  private String value;
+
+  StagingFingerprint() {
+    try {
+      this.messageDigest = MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 not supported.", e);
+    }
+  }
+
+  /**
+   * @param key The key which identifies the value.
+   * @param value The value. Can be {@code null}.
+   * @return {@link StagingFingerprint}
+   */
+  StagingFingerprint add(String key, Object value) {
+    this.messageDigest.update((key + '=' + Objects.toString(value) + '\n').getBytes(StandardCharsets.UTF_8));
+    return this;
+  }
+
+  /**
+   * @param key The key which identifies the file.
+   * @param file The file. Can be {@code null}.
+   * @return {@link StagingFingerprint}
+   */
+  StagingFingerprint add(String key, File file) {
+    if (file == null || !file.exists()) {
+      return add(key, (Object) file);
+    }
+    return add(key, file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified());
+  }
+
+  /**
+   * Adds the content of the given file instead of its size and last modification time. This is
+   * used for the artifacts of the reactor which are usually recreated by each build even if their
+   * content has not been changed.
+   *
+   * @param key The key which identifies the file.
+   * @param file The file. Can be {@code null}.
+   * @return {@link StagingFingerprint}
+   * @throws IOException in case of failure to read the file.
+   */
+  StagingFingerprint addContent(String key, File file) throws IOException {
+    if (file == null || !file.isFile()) {
+      return add(key, file);
+    }
+    return add(key, file.getAbsolutePath() + ':' + Checksums.of(file).sha1());
+  }
+
+  String value() {
+    if (this.value == null) {
+      StringBuilder result = new StringBuilder();
+      for (byte b : this.messageDigest.digest()) {
+        result.append(String.format("%02x", b));
+      }
+      this.value = result.toString();
+    }
+    return this.value;
+  }
+
+  /**
+   * @param file The file which contains the fingerprint of the previous build.
+   * @return {@code true} if the file exists and contains the same fingerprint.
+   * @throws IOException in case of failure to read the file.
+   */
+  boolean matches(File file) throws IOException {
+    return file.isFile() && value().equals(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param file The file into which the fingerprint is written.
+   * @throws IOException in case of failure to write the file.
+   */
+  void write(File file) throws IOException {
+    Files.write(file.toPath(), value().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,204 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The manifest of all files which have been staged into the {@code itf-repo}.
+ * For each staged file the source, the size, the last modification time and
+ * the SHA-1 of the content is kept. This makes it possible to skip files which
+ * have not been changed since the previous build and to remove files which
+ * are not staged anymore.
+ *
+ * @author Karl Heinz Marbaise
+ * @implNote The SHA-1 of a source file is only calculated if the size or the
+ * last modification time of the source differs from the recorded one.
+ */
+final class StagingManifest {
+
+  static final String MANIFEST = ".itf-manifest";
+
+  private static final String SEPARATOR = "\t";
+
+  /**
+   * The SHA-1 of a source whose checksum has not been calculated while staging.
+   */
+  private static final String UNKNOWN_SHA1 = "-";
+
+  private final File repository;
+
+  private final Map<String, Entry> previous;
+
+  private final Map<String, Entry> current;
+
+  private StagingManifest(File repository, Map<String, Entry> previous) {
+    this.repository = repository;
+    this.previous = previous;
+    this.current = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @param repository The repository which contains the manifest.
+   * @return The {@link StagingManifest} which contains the entries of the previous build if any.
+   * @throws IOException in case of failure to read the manifest.
+   */
+  static StagingManifest read(File repository) throws IOException {
+    Map<String, Entry> entries = new ConcurrentHashMap<>();
+    File manifest = new File(repository, MANIFEST);
+    if (manifest.isFile()) {
+      for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+        String[] columns = line.split(SEPARATOR);
+        if (line.startsWith("#") || columns.length != 5) {
+          continue;
+        }
+        entries.put(columns[0],
+            new Entry(columns[1], Long.parseLong(columns[2]), Long.parseLong(columns[3]), columns[4]));
+      }
+    }
+    return new StagingManifest(repository, entries);
+  }
+
+  /**
+   * Checks if the given destination has already been staged from the given source
+   * and if neither the source nor the destination has been changed since.
+   * In such cases the destination is kept without staging it again.
+   *
+   * @param destination The file within the repository.
+   * @param source The file which would be staged.
+   * @return {@code true} if the destination is up to date {@code false} otherwise.
+   * @throws IOException in case of failure to read the source.
+   */
+  boolean isUpToDate(File destination, File source) throws IOException {
+    String key = keyOf(destination);
+    Entry entry = this.previous.get(key);
+    if (entry == null || !destination.isFile() || destination.length() != entry.size
+        || source.length() != entry.size || !entry.source.equals(source.getAbsolutePath())) {
+      return false;
+    }
+    if (source.lastModified() == entry.lastModified) {
+      this.current.put(key, entry);
+      return true;
+    }
+    if (UNKNOWN_SHA1.equals(entry.sha1)) {
+      return false;
+    }
+    String sha1 = sha1(source);
+    if (!sha1.equals(entry.sha1)) {
+      return false;
+    }
+    this.current.put(key, new Entry(entry.source, entry.size, source.lastModified(), sha1));
+    return true;
+  }
+
+  /**
+   * Records that the given source has been staged into the given destination.
+   *
+   * @param destination The file within the repository.
+   * @param source The file which has been staged.
+   * @param sha1 The SHA-1 of the source or {@code null} if it has not been calculated.
+   */
+  void staged(File destination, File source, String sha1) {
+    this.current.put(keyOf(destination), new Entry(source.getAbsolutePath(), source.length(),
+        source.lastModified(), sha1 == null ? UNKNOWN_SHA1 : sha1));
+  }
+
+  /**
+   * Deletes all files which have been staged by the previous build but not by the current one.
+   *
+   * @return The deleted files.
+   * @throws IOException in case of failure to delete a file.
+   */
+  List<File> prune() throws IOException {
+    List<File> pruned = new ArrayList<>();
+    for (String key : this.previous.keySet()) {
+      if (this.current.containsKey(key)) {
+        continue;
+      }
+      File file = new File(this.repository, key);
+      if (Files.deleteIfExists(file.toPath())) {
+        pruned.add(file);
+      }
+      Files.deleteIfExists(Checksums.sidecar(file, Checksums.SHA1_EXTENSION));
+      Files.deleteIfExists(Checksums.sidecar(file, Checksums.SHA256_EXTENSION));
+    }
+    return pruned;
+  }
+
+  /**
+   * Keeps the entries of the previous build which have not been staged by the current build.
+   * This is used instead of {@link #prune()} if the repository is shared by several modules.
+   */
+  void retainPrevious() {
+    this.previous.forEach(this.current::putIfAbsent);
+  }
+
+  /**
+   * Writes the entries of the current build into the manifest.
+   *
+   * @throws IOException in case of failure to write the manifest.
+   */
+  void write() throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(new File(this.repository, MANIFEST).toPath(),
+        StandardCharsets.UTF_8)) {
+      writer.write("# destination, source, size, last modified, sha1");
+      writer.newLine();
+      for (Map.Entry<String, Entry> item : new TreeMap<>(this.current).entrySet()) {
+        Entry entry = item.getValue();
+        writer.write(String.join(SEPARATOR, item.getKey(), entry.source, Long.toString(entry.size),
+            Long.toString(entry.lastModified), entry.sha1));
+        writer.newLine();
+      }
+    }
+  }
+
+  private String keyOf(File destination) {
+    return this.repository.toPath().toAbsolutePath().normalize()
+        .relativize(destination.toPath().toAbsolutePath().normalize())
+        .toString().replace(File.separatorChar, '/');
+  }
+
+  static String sha1(File file) throws IOException {
+    return Checksums.of(file).sha1();
+  }
+
+  private static final class Entry {
+    private final String source;
+    private final long size;
+    private final long lastModified;
+    private final String sha1;
+
+    private Entry(String source, long size, long lastModified, String sha1) {
+      this.source = source;
+      this.size = size;
+      this.lastModified = lastModified;
+      this.sha1 = sha1;
+    }
+  }
+}
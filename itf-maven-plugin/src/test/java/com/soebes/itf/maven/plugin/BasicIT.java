@@ -27,10 +27,14 @@ import com.soebes.itf.jupiter.maven.MavenExecutionResult;
 import org.junit.jupiter.api.DisplayName;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import static com.soebes.itf.extension.assertj.MavenITAssertions.assertThat;
 import static com.soebes.itf.jupiter.extension.MavenCLIOptions.DEBUG;
 import static com.soebes.itf.jupiter.extension.MavenCLIOptions.NO_TRANSFER_PROGRESS;
+import static com.soebes.itf.jupiter.extension.MavenCLIOptions.THREADS;
 
 @MavenJupiterExtension
 class BasicIT {
@@ -76,6 +80,7 @@ class BasicIT {
         });
       });
     });
+    assertThat(new File(itfRepo, ".itf-manifest")).isNotEmpty();
 
   }
 
@@ -120,6 +125,8 @@ class BasicIT {
       assertThat(new File(isnf, "1.1.0")).isDirectory().satisfies(v10 -> {
         assertThat(v10).satisfies(file -> {
           assertThat(new File(file, "apiguardian-api-1.1.0.jar")).isNotEmpty();
+          assertThat(new File(file, "apiguardian-api-1.1.0.jar.sha1")).isNotEmpty();
+          assertThat(new File(file, "apiguardian-api-1.1.0.jar.sha256")).isNotEmpty();
           assertThat(new File(file, "apiguardian-api-1.1.0.pom")).isNotEmpty();
         });
       });
@@ -193,4 +200,149 @@ class BasicIT {
     });
   }
 
+  /**
+   * The test will check that the dependencies, their transitive dependencies and parent POM's
+   * are installed into the {@code itf-repo} if they are copied by several threads.
+   *
+   * @param result {@link MavenExecutionResult}
+   */
+  @MavenTest
+  @DisplayName("Install dependencies by using several threads")
+  @MavenOption(NO_TRANSFER_PROGRESS)
+  @MavenGoal("pre-integration-test")
+  void install_with_threads(MavenExecutionResult result) {
+    assertThat(result).isSuccessful().project();
+
+    File target = new File(result.getMavenProjectResult().getBaseDir(), "target");
+    File itfRepo = new File(target, "itf-repo");
+
+    assertThat(new File(itfRepo, "com/soebes/itf/maven/plugin/its/install_with_threads/1.0/install_with_threads-1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "junit/junit/4.13/junit-4.13.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "junit/junit/maven-metadata-local.xml")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/hamcrest/hamcrest-core/1.3/hamcrest-core-1.3.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/hamcrest/hamcrest-parent/1.3/hamcrest-parent-1.3.pom")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/apiguardian/apiguardian-api/1.1.0/apiguardian-api-1.1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/apiguardian/apiguardian-api/maven-metadata-local.xml")).isNotEmpty();
+  }
+
+  /**
+   * The test will check that the dependencies are staged into the {@code itf-repo}
+   * if the link mode {@code auto} is used.
+   *
+   * @param result {@link MavenExecutionResult}
+   */
+  @MavenTest
+  @DisplayName("Install dependencies by linking them if possible")
+  @MavenOption(NO_TRANSFER_PROGRESS)
+  @MavenGoal("pre-integration-test")
+  void install_with_link_mode(MavenExecutionResult result) {
+    assertThat(result).isSuccessful().project();
+
+    File target = new File(result.getMavenProjectResult().getBaseDir(), "target");
+    File itfRepo = new File(target, "itf-repo");
+
+    assertThat(new File(itfRepo, "com/soebes/itf/maven/plugin/its/install_with_link_mode/1.0/install_with_link_mode-1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "junit/junit/4.13/junit-4.13.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/hamcrest/hamcrest-parent/1.3/hamcrest-parent-1.3.pom")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/apiguardian/apiguardian-api/1.1.0/apiguardian-api-1.1.0.jar")).isNotEmpty();
+  }
+
+  /**
+   * The test will check that the artifacts are staged into the {@code itf-repo} of the
+   * top level project which is the project itself in case of a single module build.
+   *
+   * @param result {@link MavenExecutionResult}
+   */
+  @MavenTest
+  @DisplayName("Install into the shared repository of the reactor")
+  @MavenOption(NO_TRANSFER_PROGRESS)
+  @MavenGoal("pre-integration-test")
+  void install_into_shared_repository(MavenExecutionResult result) {
+    assertThat(result).isSuccessful().project();
+
+    File target = new File(result.getMavenProjectResult().getBaseDir(), "target");
+    File itfRepo = new File(target, "itf-repo");
+
+    assertThat(new File(itfRepo, "com/soebes/itf/maven/plugin/its/install_into_shared_repository/1.0/install_into_shared_repository-1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "junit/junit/4.13/junit-4.13.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, ".itf-manifest")).isNotEmpty();
+    assertThat(new File(itfRepo, ".itf-lock")).exists();
+  }
+
+  /**
+   * The test will check that excluded dependencies are not staged into the {@code itf-repo}.
+   *
+   * @param result {@link MavenExecutionResult}
+   */
+  @MavenTest
+  @DisplayName("Install dependencies except the excluded ones")
+  @MavenOption(NO_TRANSFER_PROGRESS)
+  @MavenGoal("pre-integration-test")
+  void install_with_excludes(MavenExecutionResult result) {
+    assertThat(result).isSuccessful().project();
+
+    File target = new File(result.getMavenProjectResult().getBaseDir(), "target");
+    File itfRepo = new File(target, "itf-repo");
+
+    assertThat(new File(itfRepo, "junit/junit/4.13/junit-4.13.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/hamcrest/hamcrest-core/1.3/hamcrest-core-1.3.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/apiguardian")).doesNotExist();
+  }
+
+  /**
+   * The test will check that only the dependencies which are referenced by the test projects are staged into the
+   * {@code itf-repo}. The test scoped dependency is referenced whereas the compile scoped one is not.
+   *
+   * @param result {@link MavenExecutionResult}
+   */
+  @MavenTest
+  @DisplayName("Install only the dependencies which are referenced by the test projects")
+  @MavenOption(NO_TRANSFER_PROGRESS)
+  @MavenGoal("pre-integration-test")
+  void install_with_referenced_only(MavenExecutionResult result) {
+    assertThat(result).isSuccessful().project();
+
+    File target = new File(result.getMavenProjectResult().getBaseDir(), "target");
+    File itfRepo = new File(target, "itf-repo");
+
+    assertThat(new File(itfRepo, "org/apiguardian/apiguardian-api/1.1.0/apiguardian-api-1.1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "junit")).doesNotExist();
+    assertThat(new File(itfRepo, "org/hamcrest")).doesNotExist();
+  }
+
+  /**
+   * The test will check that the modules of a reactor which is built in parallel are staged into
+   * the {@code itf-repo} of the top level project and that each module knows the location of it.
+   *
+   * @param result {@link MavenExecutionResult}
+   * @throws IOException in case of failure to read the location of the repository.
+   */
+  @MavenTest
+  @DisplayName("Install the modules of a reactor built in parallel into the shared repository")
+  @MavenOption(NO_TRANSFER_PROGRESS)
+  @MavenOption(value = THREADS, parameter = "2")
+  @MavenGoal("pre-integration-test")
+  void install_into_shared_repository_of_a_reactor(MavenExecutionResult result) throws IOException {
+    assertThat(result).isSuccessful();
+
+    File baseDir = result.getMavenProjectResult().getBaseDir();
+    File itfRepo = new File(new File(baseDir, "target"), "itf-repo");
+    String groupPath = "com/soebes/itf/maven/plugin/its/";
+
+    assertThat(new File(itfRepo, groupPath + "module-a/1.0/module-a-1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, groupPath + "module-b/1.0/module-b-1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "junit/junit/4.13/junit-4.13.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, "org/apiguardian/apiguardian-api/1.1.0/apiguardian-api-1.1.0.jar")).isNotEmpty();
+    assertThat(new File(itfRepo, ".itf-manifest")).isNotEmpty();
+    assertThat(new File(itfRepo, ".itf-lock")).exists();
+
+    for (String module : new String[]{"module-a", "module-b"}) {
+      File target = new File(new File(baseDir, module), "target");
+      assertThat(new File(target, "itf-repo")).doesNotExist();
+      File location = new File(target, "itf-repo.location");
+      assertThat(new File(new String(Files.readAllBytes(location.toPath()), StandardCharsets.UTF_8)).getCanonicalFile())
+          .isEqualTo(itfRepo.getCanonicalFile());
+    }
+  }
+
 }
@@ -0,0 +1,104 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ChecksumsTest {
+
+  private static final String SHA1_OF_CONTENT = "040f06fd774092478d450774f5ba30c5da78acc8";
+
+  private static final String SHA256_OF_CONTENT = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+  @Test
+  void should_calculate_the_checksums_while_copying(@TempDir Path tempDir) throws IOException {
+    File source = Files.write(tempDir.resolve("a.jar"), "content".getBytes(StandardCharsets.UTF_8)).toFile();
+    File destination = tempDir.resolve("itf-repo/a-1.0.jar").toFile();
+
+    Checksums checksums = LinkMode.COPY.stage(source, destination);
+
+    assertThat(checksums.sha1()).isEqualTo(SHA1_OF_CONTENT);
+    assertThat(checksums.sha256()).isEqualTo(SHA256_OF_CONTENT);
+    assertThat(Checksums.of(destination).sha1()).isEqualTo(SHA1_OF_CONTENT);
+  }
+
+  @Test
+  void should_calculate_the_checksums_of_a_link_only_on_access(@TempDir Path tempDir) throws IOException {
+    File source = Files.write(tempDir.resolve("a.jar"), "content".getBytes(StandardCharsets.UTF_8)).toFile();
+    File destination = tempDir.resolve("itf-repo/a-1.0.jar").toFile();
+
+    Checksums checksums = LinkMode.HARDLINK.stage(source, destination);
+
+    assertThat(checksums.isCalculated()).isFalse();
+    assertThat(checksums.sha1()).isEqualTo(SHA1_OF_CONTENT);
+    assertThat(checksums.sha256()).isEqualTo(SHA256_OF_CONTENT);
+    assertThat(checksums.isCalculated()).isTrue();
+  }
+
+  @Test
+  void should_write_and_read_sidecar_files(@TempDir Path tempDir) throws IOException {
+    File file = Files.write(tempDir.resolve("a.jar"), "content".getBytes(StandardCharsets.UTF_8)).toFile();
+    assertThat(Checksums.exist(file)).isFalse();
+
+    Checksums.of(file).write(file);
+
+    assertThat(Checksums.exist(file)).isTrue();
+    assertThat(Checksums.read(file, Checksums.SHA1_EXTENSION)).hasValue(SHA1_OF_CONTENT);
+    assertThat(Checksums.read(file, Checksums.SHA256_EXTENSION)).hasValue(SHA256_OF_CONTENT);
+  }
+
+  @Test
+  void should_copy_the_sidecar_files_of_the_local_repository(@TempDir Path tempDir) throws IOException {
+    File source = Files.write(tempDir.resolve("a.jar"), "content".getBytes(StandardCharsets.UTF_8)).toFile();
+    File destination = tempDir.resolve("itf-repo/a-1.0.jar").toFile();
+    Checksums checksums = LinkMode.HARDLINK.stage(source, destination);
+
+    assertThat(Checksums.copy(source, destination)).isEmpty();
+    assertThat(Checksums.exist(destination)).isFalse();
+
+    Files.write(tempDir.resolve("a.jar.sha1"), "recorded".getBytes(StandardCharsets.US_ASCII));
+
+    assertThat(Checksums.copy(source, destination)).hasValue("recorded");
+    assertThat(Checksums.exist(destination)).isTrue();
+    assertThat(Checksums.read(destination, Checksums.SHA1_EXTENSION)).hasValue("recorded");
+    assertThat(Checksums.sidecar(destination, Checksums.SHA256_EXTENSION)).doesNotExist();
+    assertThat(checksums.isCalculated()).isFalse();
+  }
+
+  @Test
+  void should_ignore_the_file_name_within_a_sidecar_file(@TempDir Path tempDir) throws IOException {
+    File file = tempDir.resolve("a.jar").toFile();
+    Files.write(tempDir.resolve("a.jar.sha1"), (SHA1_OF_CONTENT.toUpperCase() + "  a.jar\n").getBytes(StandardCharsets.US_ASCII));
+
+    assertThat(Checksums.read(file, Checksums.SHA1_EXTENSION)).hasValue(SHA1_OF_CONTENT);
+  }
+}
@@ -0,0 +1,67 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class LinkModeTest {
+
+  @Test
+  void should_accept_the_link_mode_case_insensitive() {
+    assertThat(LinkMode.of("hardlink")).isEqualTo(LinkMode.HARDLINK);
+    assertThat(LinkMode.of(" Auto ")).isEqualTo(LinkMode.AUTO);
+    assertThatIllegalArgumentException().isThrownBy(() -> LinkMode.of("unknown"));
+  }
+
+  @Test
+  void should_stage_a_file_into_a_not_existing_directory(@TempDir Path tempDir) throws IOException {
+    File source = Files.write(tempDir.resolve("a.jar"), "content".getBytes()).toFile();
+    File destination = tempDir.resolve("itf-repo/g/a/1.0/a-1.0.jar").toFile();
+
+    LinkMode.AUTO.stage(source, destination);
+
+    assertThat(destination).hasContent("content");
+  }
+
+  @Test
+  void should_not_change_the_source_if_a_link_is_replaced_by_a_copy(@TempDir Path tempDir) throws IOException {
+    File source = Files.write(tempDir.resolve("a.jar"), "content".getBytes()).toFile();
+    File destination = tempDir.resolve("itf-repo/a-1.0.jar").toFile();
+    LinkMode.SYMLINK.stage(source, destination);
+
+    LinkMode.COPY.stage(source, destination);
+
+    assertThat(Files.isSymbolicLink(destination.toPath())).isFalse();
+    assertThat(source).hasContent("content");
+    assertThat(destination).hasContent("content");
+  }
+}
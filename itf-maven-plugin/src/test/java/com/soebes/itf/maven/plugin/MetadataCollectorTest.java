@@ -0,0 +1,77 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class MetadataCollectorTest {
+
+  private static Artifact artifact(String version, String classifier) {
+    return new DefaultArtifact("g", "a", version, "compile", "jar", classifier, new DefaultArtifactHandler("jar"));
+  }
+
+  private static String read(Path file) throws IOException {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void should_merge_versions_with_existing_metadata(@TempDir Path repository) throws IOException {
+    File metadataFile = repository.resolve("g/a/maven-metadata-local.xml").toFile();
+    Files.createDirectories(metadataFile.getParentFile().toPath());
+    Files.write(metadataFile.toPath(), ("<metadata><groupId>g</groupId><artifactId>a</artifactId>"
+        + "<versioning><versions><version>0.9</version></versions></versioning></metadata>")
+        .getBytes(StandardCharsets.UTF_8));
+
+    MetadataCollector metadata = new MetadataCollector();
+    metadata.createMetadata(repository.resolve("g/a/1.0/a-1.0.jar").toFile(), artifact("1.0", null));
+    metadata.createMetadata(repository.resolve("g/a/1.0/a-1.0-sources.jar").toFile(), artifact("1.0", "sources"));
+    metadata.flush();
+
+    assertThat(read(metadataFile.toPath())).contains("<version>0.9</version>").contains("<version>1.0</version>").containsOnlyOnce("1.0<");
+  }
+
+  @Test
+  void should_write_snapshot_metadata(@TempDir Path repository) throws IOException {
+    MetadataCollector metadata = new MetadataCollector();
+    metadata.createMetadata(repository.resolve("g/a/1.0-SNAPSHOT/a-1.0-SNAPSHOT.jar").toFile(),
+        artifact("1.0-SNAPSHOT", null));
+    metadata.flush();
+
+    assertThat(read(repository.resolve("g/a/1.0-SNAPSHOT/maven-metadata-local.xml")))
+        .contains("<localCopy>true</localCopy>");
+    assertThat(read(repository.resolve("g/a/maven-metadata-local.xml")))
+        .contains("<version>1.0-SNAPSHOT</version>");
+  }
+}
@@ -0,0 +1,84 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.model.Parent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class ParentPomCacheTest {
+
+  private static File pom(Path directory, String content) throws IOException {
+    return Files.write(directory.resolve("a-1.0.pom"), content.getBytes(StandardCharsets.UTF_8)).toFile();
+  }
+
+  @Test
+  void should_give_the_same_cache_for_the_same_request() throws IOException {
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+
+    assertThat(ParentPomCache.of(request, null)).isSameAs(ParentPomCache.of(request, null));
+    assertThat(ParentPomCache.of(request, null)).isNotSameAs(ParentPomCache.of(new DefaultMavenExecutionRequest(), null));
+  }
+
+  @Test
+  void should_read_the_parent_from_the_persisted_cache(@TempDir Path tempDir) throws IOException {
+    File persistentCache = tempDir.resolve("cache/parent-poms.properties").toFile();
+    File pom = pom(tempDir, "<project><modelVersion>4.0.0</modelVersion>"
+        + "<parent><groupId>g</groupId><artifactId>parent</artifactId><version>1</version></parent>"
+        + "<artifactId>a</artifactId></project>");
+
+    ParentPomCache first = ParentPomCache.of(new DefaultMavenExecutionRequest(), persistentCache);
+    assertThat(first.parentOf(pom)).map(Parent::getArtifactId).hasValue("parent");
+    first.store();
+    assertThat(persistentCache).isFile();
+
+    // The content is not valid anymore which means the parent can only come from the persisted cache.
+    String checksum = StagingManifest.sha1(pom);
+    Files.write(persistentCache.toPath(), (checksum + "=g\\:other\\:2\n").getBytes(StandardCharsets.ISO_8859_1));
+
+    Optional<Parent> parent = ParentPomCache.of(new DefaultMavenExecutionRequest(), persistentCache).parentOf(pom);
+    assertThat(parent).map(Parent::getArtifactId).hasValue("other");
+  }
+
+  @Test
+  void should_handle_a_pom_without_parent(@TempDir Path tempDir) throws IOException {
+    File pom = pom(tempDir, "<project><modelVersion>4.0.0</modelVersion>"
+        + "<groupId>g</groupId><artifactId>a</artifactId><version>1.0</version></project>");
+
+    ParentPomCache cache = ParentPomCache.of(new DefaultMavenExecutionRequest(), null);
+
+    assertThat(cache.parentOf(pom)).isEmpty();
+    assertThat(cache.parentOf(pom)).isEmpty();
+  }
+}
@@ -0,0 +1,58 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class RepositoryLockTest {
+
+  @Test
+  void should_block_a_second_thread_until_the_lock_is_released(@TempDir Path repository)
+      throws IOException, InterruptedException, ExecutionException, TimeoutException {
+    CompletableFuture<Void> second;
+    try (RepositoryLock lock = RepositoryLock.acquire(repository.toFile())) {
+      second = CompletableFuture.runAsync(() -> {
+        try (RepositoryLock other = RepositoryLock.acquire(repository.toFile())) {
+          // intentionally empty.
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      assertThatExceptionOfType(TimeoutException.class).isThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS));
+    }
+    second.get(10, TimeUnit.SECONDS);
+
+    assertThat(repository.resolve(RepositoryLock.LOCK_FILE)).exists();
+  }
+}
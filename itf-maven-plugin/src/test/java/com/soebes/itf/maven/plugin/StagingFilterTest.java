@@ -0,0 +1,144 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class StagingFilterTest {
+
+  private static Artifact artifact(String groupId, String artifactId, String scope, String type, String... trail) {
+    DefaultArtifact artifact = new DefaultArtifact(groupId, artifactId, "1.0", scope, type, null,
+        new DefaultArtifactHandler(type));
+    artifact.setDependencyTrail(Arrays.asList(trail));
+    return artifact;
+  }
+
+  @Test
+  void should_filter_by_scope_type_and_pattern() {
+    StagingFilter filter = new StagingFilter(null, Collections.singletonList("provided"), null,
+        Collections.singletonList("zip"), null, Collections.singletonList("org.large:*"), Optional.empty());
+
+    assertThat(filter.test(artifact("g", "a", "compile", "jar"))).isTrue();
+    assertThat(filter.test(artifact("g", "a", "provided", "jar"))).isFalse();
+    assertThat(filter.test(artifact("g", "a", "compile", "zip"))).isFalse();
+    assertThat(filter.test(artifact("org.large", "distribution", "compile", "jar"))).isFalse();
+  }
+
+  @Test
+  void should_only_include_the_runtime_scopes_by_default() {
+    StagingFilter filter = new StagingFilter(null, null, null, null, null, null, Optional.empty());
+
+    assertThat(filter.test(artifact("g", "a", "compile", "jar"))).isTrue();
+    assertThat(filter.test(artifact("g", "a", "runtime", "jar"))).isTrue();
+    assertThat(filter.test(artifact("g", "a", "test", "jar"))).isFalse();
+    assertThat(filter.test(artifact("g", "a", "provided", "jar"))).isFalse();
+  }
+
+  @Test
+  void should_include_the_given_scopes() {
+    StagingFilter filter = new StagingFilter(Arrays.asList("compile", "test"), null, null, null, null, null,
+        Optional.empty());
+
+    assertThat(filter.test(artifact("g", "a", "compile", "jar"))).isTrue();
+    assertThat(filter.test(artifact("g", "a", "test", "jar"))).isTrue();
+    assertThat(filter.test(artifact("g", "a", "runtime", "jar"))).isFalse();
+  }
+
+  @Test
+  void should_only_include_the_matching_artifacts() {
+    StagingFilter filter = new StagingFilter(null, null, null, null,
+        Collections.singletonList("org.apache.*:*-api:1.*"), null, Optional.empty());
+
+    assertThat(filter.test(artifact("org.apache.maven", "maven-plugin-api", "compile", "jar"))).isTrue();
+    assertThat(filter.test(artifact("org.apache.maven", "maven-core", "compile", "jar"))).isFalse();
+  }
+
+  @Test
+  void should_include_only_the_closure_of_referenced_artifacts(@TempDir Path testProjects) throws IOException {
+    Path pom = Files.createDirectories(testProjects.resolve("BasicIT/first")).resolve("pom.xml");
+    Files.write(pom, ("<project><modelVersion>4.0.0</modelVersion>"
+        + "<groupId>its</groupId><artifactId>first</artifactId><version>1.0</version>"
+        + "<dependencies><dependency><groupId>junit</groupId><artifactId>junit</artifactId></dependency></dependencies>"
+        + "<build><plugins><plugin><artifactId>maven-jar-plugin</artifactId></plugin></plugins></build>"
+        + "</project>").getBytes(StandardCharsets.UTF_8));
+    Files.write(testProjects.resolve("BasicIT/invalid.xml"), "no pom".getBytes(StandardCharsets.UTF_8));
+
+    Set<String> referenced = StagingFilter.referencedBy(testProjects, Collections.emptyMap());
+    assertThat(referenced).containsExactlyInAnyOrder("junit:junit", "org.apache.maven.plugins:maven-jar-plugin");
+
+    StagingFilter filter = new StagingFilter(null, null, null, null, null, null, Optional.of(referenced));
+
+    assertThat(filter.test(artifact("junit", "junit", "compile", "jar", "g:project:jar:1.0"))).isTrue();
+    assertThat(filter.test(artifact("org.hamcrest", "hamcrest-core", "compile", "jar",
+        "g:project:jar:1.0", "junit:junit:jar:4.13"))).isTrue();
+    assertThat(filter.test(artifact("org.other", "other", "test", "jar", "g:project:jar:1.0"))).isFalse();
+    assertThat(filter.test(artifact("org.other", "other", "compile", "jar", "g:project:jar:1.0"))).isFalse();
+    assertThat(filter.test(artifact("org.apache.maven.plugins", "maven-jar-plugin", "test", "jar",
+        "g:project:jar:1.0"))).isTrue();
+  }
+
+  @Test
+  void should_not_treat_every_artifact_as_referenced_if_the_project_itself_is_referenced(@TempDir Path testProjects)
+      throws IOException {
+    Path pom = Files.createDirectories(testProjects.resolve("BasicIT/first")).resolve("pom.xml");
+    Files.write(pom, ("<project><modelVersion>4.0.0</modelVersion>"
+        + "<groupId>its</groupId><artifactId>first</artifactId><version>1.0</version>"
+        + "<build><plugins><plugin><groupId>@project.groupId@</groupId><artifactId>@project.artifactId@</artifactId>"
+        + "<version>@project.version@</version></plugin>"
+        + "<plugin><groupId>@unknown@</groupId><artifactId>unknown</artifactId></plugin></plugins></build>"
+        + "</project>").getBytes(StandardCharsets.UTF_8));
+    Map<String, String> filterValues = new HashMap<>();
+    filterValues.put("project.groupId", "org.plugin");
+    filterValues.put("project.artifactId", "plugin-under-test");
+
+    Set<String> referenced = StagingFilter.referencedBy(testProjects, filterValues);
+    assertThat(referenced).containsExactly("org.plugin:plugin-under-test");
+
+    StagingFilter filter = new StagingFilter(null, null, null, null, null, null, Optional.of(referenced));
+    String project = "org.plugin:plugin-under-test:maven-plugin:1.0";
+
+    assertThat(filter.test(artifact("org.apache.maven", "maven-plugin-api", "compile", "jar", project))).isTrue();
+    assertThat(filter.test(artifact("org.codehaus.plexus", "plexus-utils", "runtime", "jar", project,
+        "org.apache.maven:maven-plugin-api:jar:3.0"))).isTrue();
+    assertThat(filter.test(artifact("org.mockito", "mockito-core", "test", "jar", project))).isFalse();
+    assertThat(filter.test(artifact("net.bytebuddy", "byte-buddy", "test", "jar", project,
+        "org.mockito:mockito-core:jar:3.5"))).isFalse();
+  }
+}
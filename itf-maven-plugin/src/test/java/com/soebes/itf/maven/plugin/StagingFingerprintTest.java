@@ -0,0 +1,63 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class StagingFingerprintTest {
+
+  @Test
+  void should_match_if_nothing_has_been_changed(@TempDir Path tempDir) throws IOException {
+    File jar = Files.write(tempDir.resolve("a.jar"), "content".getBytes()).toFile();
+    File fingerprintFile = tempDir.resolve(".itf-fingerprint").toFile();
+
+    StagingFingerprint first = new StagingFingerprint().add("linkMode", LinkMode.COPY).add("g:a:jar:1.0", jar);
+    assertThat(first.matches(fingerprintFile)).isFalse();
+    first.write(fingerprintFile);
+
+    assertThat(new StagingFingerprint().add("linkMode", LinkMode.COPY).add("g:a:jar:1.0", jar)
+        .matches(fingerprintFile)).isTrue();
+  }
+
+  @Test
+  void should_not_match_if_a_file_or_the_configuration_has_been_changed(@TempDir Path tempDir) throws IOException {
+    File jar = Files.write(tempDir.resolve("a.jar"), "content".getBytes()).toFile();
+    File fingerprintFile = tempDir.resolve(".itf-fingerprint").toFile();
+    new StagingFingerprint().add("linkMode", LinkMode.COPY).add("g:a:jar:1.0", jar).write(fingerprintFile);
+
+    assertThat(new StagingFingerprint().add("linkMode", LinkMode.AUTO).add("g:a:jar:1.0", jar)
+        .matches(fingerprintFile)).isFalse();
+
+    jar.setLastModified(jar.lastModified() + 10_000L);
+    assertThat(new StagingFingerprint().add("linkMode", LinkMode.COPY).add("g:a:jar:1.0", jar)
+        .matches(fingerprintFile)).isFalse();
+  }
+}
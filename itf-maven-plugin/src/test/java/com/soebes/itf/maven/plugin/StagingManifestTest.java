@@ -0,0 +1,108 @@
+package com.soebes.itf.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Karl Heinz Marbaise
+ */
+class StagingManifestTest {
+
+  private static File file(Path directory, String name, String content) throws IOException {
+    Path path = directory.resolve(name);
+    Files.createDirectories(path.getParent());
+    return Files.write(path, content.getBytes()).toFile();
+  }
+
+  @Test
+  void should_be_up_to_date_if_nothing_has_been_changed(@TempDir Path source, @TempDir Path repository)
+      throws IOException {
+    File jar = file(source, "a.jar", "content");
+    File destination = file(repository, "g/a/1.0/a-1.0.jar", "content");
+
+    StagingManifest first = StagingManifest.read(repository.toFile());
+    assertThat(first.isUpToDate(destination, jar)).isFalse();
+    first.staged(destination, jar, StagingManifest.sha1(jar));
+    first.write();
+
+    assertThat(StagingManifest.read(repository.toFile()).isUpToDate(destination, jar)).isTrue();
+  }
+
+  @Test
+  void should_not_be_up_to_date_if_the_content_has_been_changed(@TempDir Path source, @TempDir Path repository)
+      throws IOException {
+    File jar = file(source, "a.jar", "content");
+    File destination = file(repository, "g/a/1.0/a-1.0.jar", "content");
+
+    StagingManifest first = StagingManifest.read(repository.toFile());
+    first.staged(destination, jar, StagingManifest.sha1(jar));
+    first.write();
+    file(source, "a.jar", "changed");
+    jar.setLastModified(jar.lastModified() + 10_000L);
+
+    assertThat(StagingManifest.read(repository.toFile()).isUpToDate(destination, jar)).isFalse();
+  }
+
+  @Test
+  void should_not_be_up_to_date_if_the_sha1_is_unknown_and_the_source_has_been_touched(@TempDir Path source,
+                                                                                     @TempDir Path repository)
+      throws IOException {
+    File jar = file(source, "a.jar", "content");
+    File destination = file(repository, "g/a/1.0/a-1.0.jar", "content");
+
+    StagingManifest first = StagingManifest.read(repository.toFile());
+    first.staged(destination, jar, null);
+    first.write();
+    assertThat(StagingManifest.read(repository.toFile()).isUpToDate(destination, jar)).isTrue();
+
+    jar.setLastModified(jar.lastModified() + 10_000L);
+    assertThat(StagingManifest.read(repository.toFile()).isUpToDate(destination, jar)).isFalse();
+  }
+
+  @Test
+  void should_prune_files_which_are_not_staged_anymore(@TempDir Path source, @TempDir Path repository)
+      throws IOException {
+    File jarA = file(source, "a.jar", "a");
+    File jarB = file(source, "b.jar", "b");
+    File destinationA = file(repository, "g/a/1.0/a-1.0.jar", "a");
+    File destinationB = file(repository, "g/b/1.0/b-1.0.jar", "b");
+
+    StagingManifest first = StagingManifest.read(repository.toFile());
+    first.staged(destinationA, jarA, StagingManifest.sha1(jarA));
+    first.staged(destinationB, jarB, StagingManifest.sha1(jarB));
+    first.write();
+
+    StagingManifest second = StagingManifest.read(repository.toFile());
+    assertThat(second.isUpToDate(destinationA, jarA)).isTrue();
+
+    assertThat(second.prune()).containsExactly(destinationB);
+    assertThat(destinationA).exists();
+    assertThat(destinationB).doesNotExist();
+  }
+}